@@ -0,0 +1,57 @@
+package bank;
+
+/**
+ * Summary of interest accrual run
+ */
+public class AccrualResult {
+    private final long processedProducts;
+    private final long accruedProducts;
+    private final long durationNanos;
+
+    public AccrualResult(long processedProducts, long accruedProducts, long durationNanos) {
+        this.processedProducts = processedProducts;
+        this.accruedProducts = accruedProducts;
+        this.durationNanos = durationNanos;
+    }
+
+    /**
+     * Getter
+     *
+     * @return number of visited products
+     */
+    public long getProcessedProducts() {
+        return processedProducts;
+    }
+
+    /**
+     * Getter
+     *
+     * @return number of products which got interests
+     */
+    public long getAccruedProducts() {
+        return accruedProducts;
+    }
+
+    /**
+     * Getter
+     *
+     * @return duration of run in nanoseconds
+     */
+    public long getDurationNanos() {
+        return durationNanos;
+    }
+
+    /**
+     * Getter
+     *
+     * @return visited products per second
+     */
+    public double getThroughput() {
+        return durationNanos == 0 ? 0 : processedProducts * 1_000_000_000.0 / durationNanos;
+    }
+
+    @Override
+    public String toString() {
+        return "AccrualResult{" + "processedProducts=" + processedProducts + ", accruedProducts=" + accruedProducts + ", durationNanos=" + durationNanos + ", throughput=" + getThroughput() + '}';
+    }
+}
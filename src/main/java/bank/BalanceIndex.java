@@ -0,0 +1,237 @@
+package bank;
+
+import indexes.IntHashMap;
+import services.BalanceListener;
+import services.Credit;
+import services.Product;
+
+import java.util.ArrayList;
+import java.util.Iterator;
+import java.util.List;
+import java.util.NavigableSet;
+import java.util.Queue;
+import java.util.concurrent.ConcurrentLinkedQueue;
+import java.util.concurrent.ConcurrentSkipListSet;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.stream.Stream;
+
+/**
+ * Products ordered by balance. Balance of credit is taken as absolute value, like in {@link reports.ReportBalance}.
+ * <p>
+ * Index is updated lazily. Balance change only marks its product as changed - without locks, and only the first change
+ * since last refresh queues the product. Queries first re-read balances of queued products under the lock of the
+ * index, so they see every change finished before they started. Products are found by primitive id in
+ * {@link IntHashMap} guarded by the same lock. Queries iterate skip list without locks and skip entries replaced in
+ * the meantime.
+ */
+public class BalanceIndex {
+    private final NavigableSet<Entry> entries = new ConcurrentSkipListSet<>();
+    // guarded by this
+    private final IntHashMap<Tracked> trackedById = new IntHashMap<>();
+    private final Queue<Tracked> changed = new ConcurrentLinkedQueue<>();
+
+    /**
+     * Position of product in the index
+     */
+    private static class Entry implements Comparable<Entry> {
+        private final long balance;
+        private final int id;
+        private final Product product;
+        // false after entry was replaced or removed
+        private volatile boolean current = true;
+
+        Entry(long balance, int id, Product product) {
+            this.balance = balance;
+            this.id = id;
+            this.product = product;
+        }
+
+        @Override
+        public int compareTo(Entry other) {
+            int result = Long.compare(balance, other.balance);
+            return result != 0 ? result : Integer.compare(id, other.id);
+        }
+
+        @Override
+        public boolean equals(Object other) {
+            return other instanceof Entry && compareTo((Entry) other) == 0;
+        }
+
+        @Override
+        public int hashCode() {
+            return Long.hashCode(balance) * 31 + id;
+        }
+    }
+
+    /**
+     * Product added to the index, listening to its balance changes
+     */
+    private class Tracked implements BalanceListener {
+        private final Product product;
+        private final AtomicBoolean pending = new AtomicBoolean();
+        // guarded by index
+        private Entry entry;
+
+        Tracked(Product product) {
+            this.product = product;
+        }
+
+        @Override
+        public void balanceChanged(int productId) {
+            if (!pending.get() && pending.compareAndSet(false, true)) {
+                changed.add(this);
+            }
+        }
+    }
+
+    private static long balanceOf(Product product) {
+        long balance = product.getBalanceGrosze();
+        return product instanceof Credit ? Math.abs(balance) : balance;
+    }
+
+    /**
+     * Adding product to the index, or replacing product with the same id, e.g. account wrapped in debet decorator
+     *
+     * @param product product
+     */
+    public synchronized void add(Product product) {
+        Tracked tracked = new Tracked(product);
+        // listener first, so change made before entry is computed is not lost
+        product.setBalanceListener(tracked);
+        Tracked old = trackedById.put(product.getId(), tracked);
+        if (old != null) {
+            retire(old.entry);
+        }
+        update(tracked);
+    }
+
+    /**
+     * Removing product from the index
+     *
+     * @param product product
+     */
+    public synchronized void remove(Product product) {
+        product.setBalanceListener(null);
+        Tracked old = trackedById.remove(product.getId());
+        if (old != null) {
+            retire(old.entry);
+        }
+    }
+
+    // called under lock of the index
+    private void update(Tracked tracked) {
+        long balance = balanceOf(tracked.product);
+        Entry old = tracked.entry;
+        if (old != null && old.balance == balance) {
+            return;
+        }
+        retire(old);
+        tracked.entry = new Entry(balance, tracked.product.getId(), tracked.product);
+        entries.add(tracked.entry);
+    }
+
+    private void retire(Entry entry) {
+        if (entry != null) {
+            entry.current = false;
+            entries.remove(entry);
+        }
+    }
+
+    /**
+     * Re-reading balances of products changed since last refresh
+     */
+    private void refresh() {
+        if (changed.isEmpty()) {
+            return;
+        }
+        synchronized (this) {
+            Tracked tracked;
+            while ((tracked = changed.poll()) != null) {
+                // cleared before balance is read, so next change queues the product again
+                tracked.pending.set(false);
+                if (trackedById.get(tracked.product.getId()) == tracked) {
+                    update(tracked);
+                }
+            }
+        }
+    }
+
+    /**
+     * Getting products with balance greater than value, ordered by balance
+     *
+     * @param balance balance in grosze
+     * @return list of products
+     */
+    public List<Product> greaterThan(long balance) {
+        refresh();
+        if (balance == Long.MAX_VALUE) {
+            return new ArrayList<>();
+        }
+        return collect(entries.tailSet(new Entry(balance + 1, Integer.MIN_VALUE, null), true).iterator(), Integer.MAX_VALUE);
+    }
+
+    /**
+     * Streaming products with balance greater than value, ordered by balance. Stream is lazy - products are read from
+     * the index while stream is consumed, so limited stream stops reading early.
+     *
+     * @param balance balance in grosze
+     * @return stream of products
+     */
+    public Stream<Product> streamGreaterThan(long balance) {
+        refresh();
+        if (balance == Long.MAX_VALUE) {
+            return Stream.empty();
+        }
+        return entries.tailSet(new Entry(balance + 1, Integer.MIN_VALUE, null), true).stream()
+                .filter(entry -> entry.current)
+                .map(entry -> entry.product);
+    }
+
+    /**
+     * Getting products with balance in range, ordered by balance
+     *
+     * @param from min balance in grosze, inclusive
+     * @param to   max balance in grosze, inclusive
+     * @return list of products
+     */
+    public List<Product> between(long from, long to) {
+        refresh();
+        if (from > to) {
+            return new ArrayList<>();
+        }
+        Entry fromEntry = new Entry(from, Integer.MIN_VALUE, null);
+        Entry toEntry = new Entry(to, Integer.MAX_VALUE, null);
+        return collect(entries.subSet(fromEntry, true, toEntry, true).iterator(), Integer.MAX_VALUE);
+    }
+
+    /**
+     * Getting products with the greatest balance, starting from the greatest one
+     *
+     * @param number max number of products
+     * @return list of products
+     */
+    public List<Product> top(int number) {
+        refresh();
+        return collect(entries.descendingIterator(), number);
+    }
+
+    private List<Product> collect(Iterator<Entry> iterator, int limit) {
+        List<Product> products = new ArrayList<>();
+        while (products.size() < limit && iterator.hasNext()) {
+            Entry entry = iterator.next();
+            if (entry.current) {
+                products.add(entry.product);
+            }
+        }
+        return products;
+    }
+
+    /**
+     * Getter
+     *
+     * @return number of indexed products
+     */
+    public synchronized int size() {
+        return trackedById.size();
+    }
+}
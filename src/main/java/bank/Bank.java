@@ -8,16 +8,20 @@ import exceptions.NoSuchDepositException;
 import interests.InterestsMechanism;
 import messages.Ack;
 import messages.PackageToAnotherBank;
+import reports.Report;
 import services.Product;
 
 import java.time.LocalDate;
 import java.util.List;
+import java.util.stream.Stream;
 
 public interface Bank {
     boolean addNewClient(Client client);
 
     boolean deleteClientById(int id) throws NoSuchClientException;
 
+    ClientPortfolio getClientPortfolio(int clientId) throws NoSuchClientException;
+
     boolean addNewNormalAccount(int ownerId) throws NoSuchClientException;
 
     boolean addNewDebetAccount(int ownerId, double limit, double debet, InterestsMechanism interestsMechanism) throws NoSuchClientException;
@@ -48,9 +52,25 @@ public interface Bank {
 
     List<Ack> getBankHistory();
 
-    boolean wrapAccountFromNormalToDebet(int bankAccountId, double limit, String description);
+    boolean wrapAccountFromNormalToDebet(int bankAccountId, double limit, CharSequence description);
 
     List<Product> getBankAccountsByBalance(double balance);
 
+    List<Product> getBankAccountsByBalance(double balance, int offset, int limit);
+
+    Stream<Product> streamBankAccountsByBalance(double balance);
+
+    List<Product> getBankAccountsByBalanceBetween(double from, double to);
+
+    List<Product> getTopBankAccountsByBalance(int number);
+
+    List<Product> getProductsByReport(Report report);
+
+    void runReports(Report... reports);
+
     List<Product> getBankAccountsByDate(LocalDate date);
+
+    AccrualResult accrueInterests();
+
+    int settleMaturedDeposits(LocalDate date);
 }
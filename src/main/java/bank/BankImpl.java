@@ -7,6 +7,8 @@ import exceptions.NoSuchClientException;
 import exceptions.NoSuchCreditException;
 import exceptions.NoSuchDepositException;
 import history.History;
+import indexes.IntHashMap;
+import indexes.LongHashMap;
 import interests.InterestsMechanism;
 import messages.*;
 import operationbank.*;
@@ -16,33 +18,96 @@ import operationcredit.TransferOperation;
 import operationdeposit.BreakUpDepositOperation;
 import operationdeposit.CreateDepositOperation;
 import operationdeposit.SolveDepositOperation;
-import reports.ReportBalance;
-import reports.ReportCreateMainAccountDate;
+import operations.Command;
+import reports.CompositeReport;
+import reports.ParallelReportExecutor;
+import reports.Report;
 import services.*;
 
 import java.time.LocalDate;
 import java.util.ArrayList;
 import java.util.List;
-
+import java.util.concurrent.locks.StampedLock;
+import java.util.stream.Collectors;
+import java.util.stream.Stream;
+
+/**
+ * Bank can be used by many threads at once. Clients and products lists with their indexes are guarded by registry
+ * lock, lookups by id read indexes optimistically, so they do not block each other. Balances are changed atomically,
+ * so operations on one account (payment, withdraw) need no lock. Operations moving money between two products lock
+ * only stripes of these two accounts, so transfers between different accounts run in parallel.
+ * <p>
+ * Lists returned by getters are live - they must not be iterated while other threads add or remove products.
+ */
 public class BankImpl implements Bank {
-    private static final int MAX_PACKAGE_AMOUNT = 1;
+    private static final int DEFAULT_PACKAGE_BATCH_SIZE = 1;
+    private static final int ACCOUNT_LOCK_STRIPES = 1024;
     private final int bankId;
-    private PaymentSystemInfrastructure paymentSystemInfrastructure;
+    private final PaymentSystemInfrastructure paymentSystemInfrastructure;
     private List<Client> clients;
     private List<Credit> credits;
     private List<Deposit> deposits;
     private List<Product> bankAccounts;
-    private List<PackageToAnotherBank> packagesToSend;
+    private final PackageBatcher packagesToSend;
+    // packages from other banks booked by own thread, null when they are booked by sender
+    private volatile InboundQueue inboundQueue;
     private History bankHistory;
+    // primary key indexes, kept in sync with lists above
+    private IntHashMap<Client> clientsById;
+    private IntHashMap<Credit> creditsById;
+    private IntHashMap<Deposit> depositsById;
+    private IntHashMap<Product> bankAccountsById;
+    // unique index of clients by pesel
+    private LongHashMap<Client> clientsByPesel;
+    // secondary index of products by owner id
+    private IntHashMap<ClientPortfolio> portfoliosByOwner;
+    // all products ordered by balance, updated on every balance change
+    private final BalanceIndex balanceIndex;
+    // all products bucketed by creation date of main account, guarded by registry lock
+    private final CreationDateIndex creationDateIndex;
+    // deposits bucketed by day of maturity, guarded by registry lock
+    private final MaturityCalendar maturityCalendar;
+    private final ParallelReportExecutor reportExecutor;
+    private final InterestAccrualJob interestAccrualJob;
+    private final StampedLock registryLock;
+    private final StripedLocks accountLocks;
 
+    /**
+     * Constructor of bank not connected to any other bank
+     *
+     * @param id unique bank id
+     */
     public BankImpl(int id) {
+        this(id, new PaymentSystemInfrastructure());
+    }
+
+    /**
+     * Constructor
+     *
+     * @param id                          unique bank id
+     * @param paymentSystemInfrastructure network used to send packages to other banks
+     */
+    public BankImpl(int id, PaymentSystemInfrastructure paymentSystemInfrastructure) {
         clients = new ArrayList<>();
         credits = new ArrayList<>();
         deposits = new ArrayList<>();
         bankAccounts = new ArrayList<>();
-        packagesToSend = new ArrayList<>();
+        packagesToSend = new PackageBatcher(DEFAULT_PACKAGE_BATCH_SIZE, 0);
         bankHistory = new History();
-        paymentSystemInfrastructure = new PaymentSystemInfrastructure();
+        clientsById = new IntHashMap<>();
+        creditsById = new IntHashMap<>();
+        depositsById = new IntHashMap<>();
+        bankAccountsById = new IntHashMap<>();
+        clientsByPesel = new LongHashMap<>();
+        portfoliosByOwner = new IntHashMap<>();
+        balanceIndex = new BalanceIndex();
+        creationDateIndex = new CreationDateIndex();
+        maturityCalendar = new MaturityCalendar();
+        reportExecutor = new ParallelReportExecutor();
+        interestAccrualJob = new InterestAccrualJob();
+        registryLock = new StampedLock();
+        accountLocks = new StripedLocks(ACCOUNT_LOCK_STRIPES);
+        this.paymentSystemInfrastructure = paymentSystemInfrastructure;
         bankId = id;
     }
 
@@ -66,24 +131,84 @@ public class BankImpl implements Bank {
         return bankId;
     }
 
+    /**
+     * Getting value from index without blocking, falling back to read lock when index was modified meanwhile
+     *
+     * @param index index to read
+     * @param id    key
+     * @return value or null if there is no such key
+     */
+    private <V> V readIndex(IntHashMap<V> index, int id) {
+        long stamp = registryLock.tryOptimisticRead();
+        V value = index.get(id);
+        if (!registryLock.validate(stamp)) {
+            stamp = registryLock.readLock();
+            try {
+                value = index.get(id);
+            } finally {
+                registryLock.unlockRead(stamp);
+            }
+        }
+        return value;
+    }
+
+    /**
+     * Converting pesel to numeric key of pesel index
+     *
+     * @param pesel client's pesel
+     * @return pesel as number or -1 if it is not 11 digits
+     */
+    private static long peselKey(String pesel) {
+        if (pesel == null || pesel.length() != Client.PESEL_LENGTH) {
+            return -1;
+        }
+        long key = 0;
+        for (int i = 0; i < Client.PESEL_LENGTH; i++) {
+            char digit = pesel.charAt(i);
+            if (digit < '0' || digit > '9') {
+                return -1;
+            }
+            key = key * 10 + (digit - '0');
+        }
+        return key;
+    }
+
     /**
      * Adding new Client to the bank
      *
-     * @param client cannot be null and must be unique
+     * @param client cannot be null, must have 11 digits pesel and must be unique
      * @return true if operation succeeded
      */
     @Override
     public boolean addNewClient(Client client) {
-        // test if list contains client and client is not a null
-        if (client != null && !getClients().stream().anyMatch(cl -> cl.getPesel().equals(client.getPesel()))) {
-            // adding to list and return true if operation succeeded
-            boolean ifSucceeded = clients.add(client);
-            if (ifSucceeded) {
-                Ack ack = new BankAck(null, null, client.getId(), TypeOperation.ADD_NEW_CLIENT, LocalDate.now(), "New client " + client + " created");
-                bankHistory.add(ack);
-
-                return true;
+        if (client == null) {
+            return false;
+        }
+        long peselKey = peselKey(client.getPesel());
+        if (peselKey < 0) {
+            return false;
+        }
+        boolean ifSucceeded = false;
+        long stamp = registryLock.writeLock();
+        try {
+            // test if there is no client with the same pesel
+            if (!clientsByPesel.containsKey(peselKey)) {
+                // adding to list and return true if operation succeeded
+                ifSucceeded = clients.add(client);
+                if (ifSucceeded) {
+                    clientsById.put(client.getId(), client);
+                    clientsByPesel.put(peselKey, client);
+                    portfoliosByOwner.put(client.getId(), new ClientPortfolio(client.getId()));
+                }
             }
+        } finally {
+            registryLock.unlockWrite(stamp);
+        }
+        if (ifSucceeded) {
+            Ack ack = new BankAck(null, null, client.getId(), TypeOperation.ADD_NEW_CLIENT, LocalDate.now(), Description.of(AckTemplate.NEW_CLIENT, client));
+            bankHistory.add(ack);
+
+            return true;
         }
 
         return false;
@@ -96,7 +221,7 @@ public class BankImpl implements Bank {
      * @return true if succeeded
      */
     private boolean ifClientExists(int id) {
-        return clients.stream().filter(client -> client.getId() == id).findFirst().isPresent();
+        return readIndex(clientsById, id) != null;
     }
 
     /**
@@ -106,30 +231,87 @@ public class BankImpl implements Bank {
      * @return
      */
     public Client getClientById(int id) throws NoSuchClientException {
-        Client client = clients.stream().filter(cl -> cl.getId() == id).findAny().orElse(null);
+        Client client = readIndex(clientsById, id);
         if (client == null)
             throw new NoSuchClientException("There is no client with id=" + id);
         return client;
     }
 
     /**
-     * Removing Client with specified id from bank
+     * Getting client by pesel
+     *
+     * @param pesel client's pesel
+     * @return client with specified pesel
+     */
+    public Client findClientByPesel(String pesel) throws NoSuchClientException {
+        long peselKey = peselKey(pesel);
+        Client client = null;
+        if (peselKey >= 0) {
+            long stamp = registryLock.readLock();
+            try {
+                client = clientsByPesel.get(peselKey);
+            } finally {
+                registryLock.unlockRead(stamp);
+            }
+        }
+        if (client == null)
+            throw new NoSuchClientException("There is no client with pesel=" + pesel);
+        return client;
+    }
+
+    /**
+     * Getting all products of client with specified id
+     *
+     * @param clientId client's unique id
+     * @return snapshot of client's accounts, credits and deposits
+     */
+    @Override
+    public ClientPortfolio getClientPortfolio(int clientId) throws NoSuchClientException {
+        ClientPortfolio portfolio;
+        long stamp = registryLock.readLock();
+        try {
+            portfolio = portfoliosByOwner.get(clientId);
+            if (portfolio != null) {
+                portfolio = portfolio.snapshot();
+            }
+        } finally {
+            registryLock.unlockRead(stamp);
+        }
+        if (portfolio == null)
+            throw new NoSuchClientException("There is no client with id=" + clientId);
+        return portfolio;
+    }
+
+    /**
+     * Removing Client with specified id from bank. Client who still has any product cannot be removed.
      *
      * @param id client unique id
      * @return true if succeeded
      */
     @Override
     public boolean deleteClientById(int id) throws NoSuchClientException {
-        // check if client exists
-        if (ifClientExists(id)) {
-            Client client = getClientById(id);
-            boolean ifSucceeded = clients.removeIf(cl -> cl.getId() == id);
-            if (ifSucceeded) {
-                Ack ack = new BankAck(null, null, id, TypeOperation.DELETE_CLIENT, LocalDate.now(), "Client " + client + " deleted");
-                bankHistory.add(ack);
-
-                return true;
+        Client client = null;
+        boolean ifSucceeded = false;
+        long stamp = registryLock.writeLock();
+        try {
+            // check if client exists and has no products
+            client = clientsById.get(id);
+            if (client != null && portfoliosByOwner.get(id).isEmpty()) {
+                ifSucceeded = clients.removeIf(cl -> cl.getId() == id);
+                if (ifSucceeded) {
+                    clientsById.remove(id);
+                    clientsByPesel.remove(peselKey(client.getPesel()));
+                    portfoliosByOwner.remove(id);
+                }
             }
+        } finally {
+            registryLock.unlockWrite(stamp);
+        }
+        if (ifSucceeded) {
+            Ack ack = new BankAck(null, null, id, TypeOperation.DELETE_CLIENT, LocalDate.now(), Description.of(AckTemplate.CLIENT_DELETED, client));
+            bankHistory.add(ack);
+
+            return true;
         }
 
         return false;
@@ -145,9 +327,9 @@ public class BankImpl implements Bank {
      */
     @Override
     public boolean addNewNormalAccount(int ownerId) throws NoSuchClientException {
-        String description = "Client " + getClientById(ownerId) + " added new account";
+        Description description = Description.of(AckTemplate.NEW_ACCOUNT, getClientById(ownerId));
         BankAccount normalAccount = new BankAccount(ownerId);
-        boolean ifSucceeded = bankAccounts.add(normalAccount);
+        boolean ifSucceeded = registerBankAccount(normalAccount);
 
         if (ifSucceeded) {
             Ack ack = new Ack(ownerId, normalAccount.getId(), TypeOperation.CREATE_ACCOUNT, LocalDate.now(), description);
@@ -169,7 +351,7 @@ public class BankImpl implements Bank {
     public boolean makeAccountDebet(int accountId, double limit, double debet) throws NoSuchClientException, NoSuchAccountException {
         BankAccount bankAccount = (BankAccount) getProductById(accountId);
         Client client = getClientById(bankAccount.getOwnerId());
-        String description = "Client " + client + " account changed to debet account with " + limit + " limit";
+        Description description = Description.of(AckTemplate.ACCOUNT_TO_DEBET, client, limit);
         MakeAccountDebetOperation makeAccountDebetOperation = new MakeAccountDebetOperation(this, bankAccount, limit, description);
 
         Ack ack = makeAccountDebetOperation.execute();
@@ -190,10 +372,10 @@ public class BankImpl implements Bank {
     @Override
     public boolean addNewDebetAccount(int ownerId, double limit, double debet, InterestsMechanism interestsMechanism) throws NoSuchClientException {
         // check if ownerId is correct and if client with this id exists
-        String description = "Client " + getClientById(ownerId) + " added new debet account with " + limit + " and " + interestsMechanism + " percentage";
+        Description description = Description.of(AckTemplate.NEW_DEBET_ACCOUNT, getClientById(ownerId), limit, interestsMechanism);
         BankAccount bankAccount = new BankAccount(ownerId);
         DebetAccountDecorator debetAccountDecorator = new DebetAccountDecorator(limit, debet, bankAccount);
-        boolean ifSucceeded = bankAccounts.add(debetAccountDecorator);
+        boolean ifSucceeded = registerBankAccount(debetAccountDecorator);
 
         if (ifSucceeded) {
             Ack ack = new Ack(ownerId, debetAccountDecorator.getId(), TypeOperation.CREATE_ACCOUNT, LocalDate.now(), description);
@@ -205,6 +387,30 @@ public class BankImpl implements Bank {
         return false;
     }
 
+    /**
+     * Adding account to accounts list and indexes
+     *
+     * @param bankAccount new account
+     * @return false if owner has been removed in the meantime
+     */
+    private boolean registerBankAccount(Product bankAccount) {
+        long stamp = registryLock.writeLock();
+        try {
+            ClientPortfolio portfolio = portfoliosByOwner.get(bankAccount.getOwnerId());
+            if (portfolio == null) {
+                return false;
+            }
+            bankAccounts.add(bankAccount);
+            bankAccountsById.put(bankAccount.getId(), bankAccount);
+            portfolio.addBankAccount(bankAccount);
+            balanceIndex.add(bankAccount);
+            creationDateIndex.add(bankAccount);
+            return true;
+        } finally {
+            registryLock.unlockWrite(stamp);
+        }
+    }
+
     /**
      * Checking if account with specified id exists
      *
@@ -212,7 +418,7 @@ public class BankImpl implements Bank {
      * @return true if account exists
      */
     private boolean ifAccountExists(int accountId) {
-        return bankAccounts.stream().filter(account -> account.getId() == accountId).findFirst().isPresent();
+        return readIndex(bankAccountsById, accountId) != null;
     }
 
     /**
@@ -222,7 +428,7 @@ public class BankImpl implements Bank {
      * @return bankAccount with specified in param id
      */
     public Product getProductById(int accountId) throws NoSuchAccountException {
-        Product product = bankAccounts.stream().filter(pr -> pr.getId() == accountId).findFirst().orElse(null);
+        Product product = readIndex(bankAccountsById, accountId);
         if (product == null)
             throw new NoSuchAccountException("There is no account with id=" + accountId);
         else
@@ -246,7 +452,7 @@ public class BankImpl implements Bank {
         // check if client and its account exists
         Client client = getClientById(ownerId);
         BankAccount bankAccount = (BankAccount) getProductById(accountId);
-        String description = "New " + client.getFirstName() + " " + client.getLastName() + " deposit with " + value + " and " + interestsMechanism + " created";
+        Description description = Description.of(AckTemplate.NEW_DEPOSIT, client.getFirstName(), client.getLastName(), value, interestsMechanism);
 
         CreateDepositOperation createDepositOperation = new CreateDepositOperation(bankAccount, value, ownerId, duration, interestsMechanism, description);
         Ack ack = createDepositOperation.execute();
@@ -254,7 +460,21 @@ public class BankImpl implements Bank {
 
         if (ifSucceeded) {
             Deposit deposit = new Deposit(bankAccount, value, ownerId, duration, interestsMechanism);
-            deposits.add(deposit);
+            long stamp = registryLock.writeLock();
+            try {
+                ClientPortfolio portfolio = portfoliosByOwner.get(ownerId);
+                if (portfolio == null) {
+                    throw new NoSuchClientException("There is no client with id=" + ownerId);
+                }
+                deposits.add(deposit);
+                depositsById.put(deposit.getId(), deposit);
+                portfolio.addDeposit(deposit);
+                balanceIndex.add(deposit);
+                creationDateIndex.add(deposit);
+                maturityCalendar.add(deposit);
+            } finally {
+                registryLock.unlockWrite(stamp);
+            }
             bankHistory.add(ack);
 
             return true;
@@ -277,11 +497,25 @@ public class BankImpl implements Bank {
     public boolean addNewCredit(int accountId, double balance, int ownerId, InterestsMechanism interestsMechanism) throws NoSuchClientException, NoSuchAccountException {
         Client client = getClientById(ownerId);
         BankAccount bankAccount = (BankAccount) getProductById(accountId);
-        String description = "New " + client.getFirstName() + " " + client.getLastName() + " credit with " + balance + " and " + interestsMechanism + " created";
+        Description description = Description.of(AckTemplate.NEW_CREDIT, client.getFirstName(), client.getLastName(), balance, interestsMechanism);
 
         CreateCreditOperation createCreditOperation = new CreateCreditOperation(bankAccount, balance, ownerId, interestsMechanism, description);
         Credit credit = new Credit(bankAccount, balance * (-1), ownerId, interestsMechanism);
-        boolean ifSucceeded = credits.add(credit);
+        boolean ifSucceeded;
+        long stamp = registryLock.writeLock();
+        try {
+            ClientPortfolio portfolio = portfoliosByOwner.get(ownerId);
+            if (portfolio == null) {
+                throw new NoSuchClientException("There is no client with id=" + ownerId);
+            }
+            ifSucceeded = credits.add(credit);
+            creditsById.put(credit.getId(), credit);
+            portfolio.addCredit(credit);
+            balanceIndex.add(credit);
+            creationDateIndex.add(credit);
+        } finally {
+            registryLock.unlockWrite(stamp);
+        }
 
         if (ifSucceeded) {
             Ack ack = createCreditOperation.execute();
@@ -299,7 +533,7 @@ public class BankImpl implements Bank {
      * @return credit with specified in param id
      */
     public Credit getCreditById(int id) throws NoSuchCreditException {
-        Credit credit = credits.stream().filter(cr -> cr.getId() == id).findAny().orElse(null);
+        Credit credit = readIndex(creditsById, id);
         if (credit == null)
             throw new NoSuchCreditException("There is no credit with id=" + id);
         return credit;
@@ -307,6 +541,23 @@ public class BankImpl implements Bank {
 
     // -------------------------------------------------------------------------------- BankAccountOperations
 
+    /**
+     * Executing operation which moves money between two accounts, holding locks of both of them
+     *
+     * @param firstId  id of first account changed by operation
+     * @param secondId id of second account changed by operation
+     * @param command  operation
+     * @return operation's ack
+     */
+    private Ack executeOnAccounts(int firstId, int secondId, Command command) {
+        accountLocks.lock(firstId, secondId);
+        try {
+            return command.execute();
+        } finally {
+            accountLocks.unlock(firstId, secondId);
+        }
+    }
+
     /**
      * Transfer money from one account to another
      *
@@ -320,10 +571,10 @@ public class BankImpl implements Bank {
         BankAccount bankAccountFrom = (BankAccount) getProductById(accountFromId);
         BankAccount bankAccountTo = (BankAccount) getProductById(accountToId);
 
-        String description = "money successfully transferred from account: " + bankAccountFrom + " to: " + bankAccountTo + ", with amount of " + value;
+        Description description = Description.of(AckTemplate.TRANSFER, bankAccountFrom, bankAccountTo, value);
         TransferFromToOperation transferFromToOperation = new TransferFromToOperation(bankAccountFrom, bankAccountTo, value, description);
 
-        Ack ack = transferFromToOperation.execute();
+        Ack ack = executeOnAccounts(accountFromId, accountToId, transferFromToOperation);
         bankHistory.add(ack);
 
         return true;
@@ -354,13 +605,22 @@ public class BankImpl implements Bank {
             }
             return true;
         } else {
-            PackageToAnotherBank packageToAnotherBankResponse = new PackageToAnotherBank(this.getBankId(), packageToAnotherBank.getToAccount(), packageToAnotherBank.getFromBank(), packageToAnotherBank.getFromAccount(), packageToAnotherBank.getValue(), TypeOfPackage.BOUNCED);
-            sendToAntoherBank(packageToAnotherBankResponse);
+            bounce(packageToAnotherBank);
 
             return false;
         }
     }
 
+    /**
+     * Sending package back to the bank it came from
+     *
+     * @param packageToAnotherBank package which cannot be booked
+     */
+    private void bounce(PackageToAnotherBank packageToAnotherBank) {
+        PackageToAnotherBank packageToAnotherBankResponse = new PackageToAnotherBank(this.getBankId(), packageToAnotherBank.getToAccount(), packageToAnotherBank.getFromBank(), packageToAnotherBank.getFromAccount(), packageToAnotherBank.getValue(), TypeOfPackage.BOUNCED);
+        addPackageTolist(packageToAnotherBankResponse);
+    }
+
     /**
      * Transfering money to account in nother bank
      *
@@ -402,7 +662,7 @@ public class BankImpl implements Bank {
     public boolean payment(int accountId, double value) throws NoSuchAccountException {
         BankAccount bankAccount = (BankAccount) getProductById(accountId);
 
-        String description = "money successfully transferred to account: " + accountId + ", with amount of " + value;
+        Description description = Description.of(AckTemplate.PAYMENT, accountId, value);
         PaymentOperation paymentOperation = new PaymentOperation(bankAccount, value, description);
         Ack ack = paymentOperation.execute();
         bankAccount.addToHistory(ack);
@@ -422,7 +682,7 @@ public class BankImpl implements Bank {
     @Override
     public boolean withdraw(int accountId, double value) throws NoSuchAccountException {
         BankAccount bankAccount = (BankAccount) getProductById(accountId);
-        String description = "money successfully withdrawn from account: " + accountId + ", with amount of " + value;
+        Description description = Description.of(AckTemplate.WITHDRAW, accountId, value);
         WithdrawOperation withdrawOperation = new WithdrawOperation(bankAccount, value, description);
         Ack ack = withdrawOperation.execute();
         if (ack != null) {
@@ -445,11 +705,23 @@ public class BankImpl implements Bank {
         // check if client exists
         Credit credit = getCreditById(id);
         Client client = getClientById(credit.getOwnerId());
-        boolean ifSucceeded = credits.removeIf(cr -> cr.getId() == id);
+        boolean ifSucceeded;
+        long stamp = registryLock.writeLock();
+        try {
+            ifSucceeded = creditsById.remove(id) != null;
+            if (ifSucceeded) {
+                credits.remove(credit);
+                portfoliosByOwner.get(credit.getOwnerId()).removeCredit(credit);
+                balanceIndex.remove(credit);
+                creationDateIndex.remove(credit);
+            }
+        } finally {
+            registryLock.unlockWrite(stamp);
+        }
 
         if (ifSucceeded) {
             // creating ack
-            Ack ack = new BankAck(credit.getId(), null, id, TypeOperation.DELETE_CREDIT, LocalDate.now(), "Credit of id: " + id + " of client " + client + " deleted");
+            Ack ack = new BankAck(credit.getId(), null, id, TypeOperation.DELETE_CREDIT, LocalDate.now(), Description.of(AckTemplate.CREDIT_DELETED, id, client));
             bankHistory.add(ack);
 
             return true;
@@ -468,18 +740,19 @@ public class BankImpl implements Bank {
     @Override
     public boolean payCreditRate(int creditId, double value) throws NoSuchClientException, NoSuchCreditException {
         Credit credit = getCreditById(creditId);
-        String description = "rate transferred to credit's account with id " + creditId + ", value = " + value;
+        Description description = Description.of(AckTemplate.CREDIT_RATE, creditId, value);
+        int bankAccountId = credit.getBankAccount().getId();
         TransferOperation transferOperation = new TransferOperation(credit, value, description);
-        Ack ack = transferOperation.execute();
+        Ack ack = executeOnAccounts(creditId, bankAccountId, transferOperation);
         if (ack != null) {
             bankHistory.add(ack);
             return true;
         } else {
             // credit is payed off
             Client client = getClientById(credit.getOwnerId());
-            String creditPayedOffDescription = "credit of client " + client + " is payed off and can be removed";
+            Description creditPayedOffDescription = Description.of(AckTemplate.CREDIT_PAYED_OFF, client);
             PayOfCreditOperation payOfCreditOperation = new PayOfCreditOperation(credit, creditPayedOffDescription);
-            ack = payOfCreditOperation.execute();
+            ack = executeOnAccounts(creditId, bankAccountId, payOfCreditOperation);
             bankHistory.add(ack);
             deleteCreditById(creditId);
             return true;
@@ -494,7 +767,7 @@ public class BankImpl implements Bank {
      * @return specified deposit
      */
     private Deposit getDepositById(int id) throws NoSuchDepositException {
-        Deposit deposit = deposits.stream().filter(cr -> cr.getId() == id).findAny().orElse(null);
+        Deposit deposit = readIndex(depositsById, id);
         if (deposit == null)
             throw new NoSuchDepositException("There is no deposit with id=" + id);
         return deposit;
@@ -509,10 +782,23 @@ public class BankImpl implements Bank {
     public boolean deleteDepositById(int id) throws NoSuchClientException, NoSuchDepositException {
         Deposit deposit = getDepositById(id);
         Client client = getClientById(deposit.getOwnerId());
-        boolean ifSucceeded = deposits.removeIf(dp -> dp.getId() == id);
+        boolean ifSucceeded;
+        long stamp = registryLock.writeLock();
+        try {
+            ifSucceeded = depositsById.remove(id) != null;
+            if (ifSucceeded) {
+                deposits.remove(deposit);
+                portfoliosByOwner.get(deposit.getOwnerId()).removeDeposit(deposit);
+                balanceIndex.remove(deposit);
+                creationDateIndex.remove(deposit);
+                maturityCalendar.remove(deposit);
+            }
+        } finally {
+            registryLock.unlockWrite(stamp);
+        }
         if (ifSucceeded) {
             // creating ack
-            Ack ack = new BankAck(deposit.getId(), null, id, TypeOperation.DELETE_DEPOSIT, LocalDate.now(), "Deposit of id: " + id + " of client " + client + " deleted");
+            Ack ack = new BankAck(deposit.getId(), null, id, TypeOperation.DELETE_DEPOSIT, LocalDate.now(), Description.of(AckTemplate.DEPOSIT_DELETED, id, client));
             bankHistory.add(ack);
 
             return true;
@@ -532,20 +818,28 @@ public class BankImpl implements Bank {
     public boolean withdrawFromDeposit(int depositId) throws NoSuchClientException, NoSuchDepositException {
         Deposit deposit = getDepositById(depositId);
         Client client = getClientById(deposit.getOwnerId());
+        int bankAccountId = deposit.getBankAccount().getId();
+        long stamp = registryLock.writeLock();
+        try {
+            // deposit is settled here, daily job must not settle it again
+            maturityCalendar.remove(deposit);
+        } finally {
+            registryLock.unlockWrite(stamp);
+        }
         if (deposit.isExpired()) {
             // deposit has expired
-            String description = "deposit " + depositId + " of client " + client + " is solved";
+            Description description = Description.of(AckTemplate.DEPOSIT_SOLVED, depositId, client);
             SolveDepositOperation solveDepositOperation = new SolveDepositOperation(deposit, description);
-            Ack ack = solveDepositOperation.execute();
+            Ack ack = executeOnAccounts(depositId, bankAccountId, solveDepositOperation);
             bankHistory.add(ack);
 
             return true;
         } else {
             //deposit will be broken up
-            String description = "deposit " + depositId + " of client " + client + " is broken up";
+            Description description = Description.of(AckTemplate.DEPOSIT_BROKEN_UP, depositId, client);
             BreakUpDepositOperation breakUpDepositOperation = new BreakUpDepositOperation(deposit, description);
 
-            Ack ack = breakUpDepositOperation.execute();
+            Ack ack = executeOnAccounts(depositId, bankAccountId, breakUpDepositOperation);
             bankHistory.add(ack);
 
             return true;
@@ -553,6 +847,59 @@ public class BankImpl implements Bank {
 
     }
 
+    /**
+     * Solving all deposits which are expired on given day. Deposits are taken from maturity calendar, so only deposits
+     * due are visited. Should be run once a day, see {@link DepositMaturityJob}.
+     *
+     * @param date current day
+     * @return number of solved deposits
+     */
+    @Override
+    public int settleMaturedDeposits(LocalDate date) {
+        List<Deposit> due;
+        long stamp = registryLock.writeLock();
+        try {
+            due = maturityCalendar.pollDue(date);
+        } finally {
+            registryLock.unlockWrite(stamp);
+        }
+        int settled = 0;
+        for (Deposit deposit : due) {
+            if (!deposit.isExpired(date)) {
+                // duration was changed after deposit had been put in calendar
+                stamp = registryLock.writeLock();
+                try {
+                    if (depositsById.get(deposit.getId()) == deposit) {
+                        maturityCalendar.add(deposit);
+                    }
+                } finally {
+                    registryLock.unlockWrite(stamp);
+                }
+                continue;
+            }
+            int depositId = deposit.getId();
+            int bankAccountId = deposit.getBankAccount().getId();
+            Client client = readIndex(clientsById, deposit.getOwnerId());
+            Description description = Description.of(AckTemplate.DEPOSIT_SOLVED, depositId, client);
+            SolveDepositOperation solveDepositOperation = new SolveDepositOperation(deposit, description);
+            Ack ack = null;
+            accountLocks.lock(depositId, bankAccountId);
+            try {
+                // deposit may have been deleted or withdrawn after it was taken from calendar
+                if (readIndex(depositsById, depositId) == deposit && deposit.getBalanceGrosze() != 0) {
+                    ack = solveDepositOperation.execute();
+                }
+            } finally {
+                accountLocks.unlock(depositId, bankAccountId);
+            }
+            if (ack != null) {
+                bankHistory.add(ack);
+                settled++;
+            }
+        }
+        return settled;
+    }
+
     /**
      * Changing percentage of account
      *
@@ -564,7 +911,7 @@ public class BankImpl implements Bank {
     public boolean changeAccountPercentage(int accountId, InterestsMechanism interestsMechanism) throws NoSuchAccountException {
         BankAccount bankAccount = (BankAccount) getProductById(accountId);
         InterestsMechanism newInterestMechanism = interestsMechanism;
-        String description = "Amount of account (" + accountId + ") percentage changed from " + bankAccount.getInterestsMechanism() + " to " + newInterestMechanism;
+        Description description = Description.of(AckTemplate.PERCENTAGE_CHANGED, accountId, bankAccount.getInterestsMechanism(), newInterestMechanism);
         ChangePercentageOperation changePercentageOperation = new ChangePercentageOperation(bankAccount, interestsMechanism, description);
 
         Ack ack = changePercentageOperation.execute();
@@ -583,7 +930,7 @@ public class BankImpl implements Bank {
     public boolean changeCreditPercentage(int creditId, InterestsMechanism interestsMechanism) throws NoSuchCreditException {
         Credit credit = getCreditById(creditId);
         InterestsMechanism newInterestMechanism = interestsMechanism;
-        String description = "Amount of account (" + creditId + ") percentage changed from " + credit.getInterestsMechanism() + " to " + newInterestMechanism;
+        Description description = Description.of(AckTemplate.PERCENTAGE_CHANGED, creditId, credit.getInterestsMechanism(), newInterestMechanism);
         ChangePercentageOperation changePercentageOperation = new ChangePercentageOperation(credit, interestsMechanism, description);
 
         Ack ack = changePercentageOperation.execute();
@@ -602,7 +949,7 @@ public class BankImpl implements Bank {
     public boolean changeDepositPercentage(int depositId, InterestsMechanism interestsMechanism) throws NoSuchDepositException {
         Deposit deposit = getDepositById(depositId);
         InterestsMechanism newInterestMechanism = interestsMechanism;
-        String description = "Amount of account (" + depositId + ") percentage changed from " + deposit.getInterestsMechanism() + " to " + newInterestMechanism;
+        Description description = Description.of(AckTemplate.PERCENTAGE_CHANGED, depositId, deposit.getInterestsMechanism(), newInterestMechanism);
         ChangePercentageOperation changePercentageOperation = new ChangePercentageOperation(deposit, interestsMechanism, description);
 
         Ack ack = changePercentageOperation.execute();
@@ -621,16 +968,155 @@ public class BankImpl implements Bank {
     }
 
     /**
-     * Adding package to packages list. If there are 5 packages it sends them.
+     * Adding package to packages list. Packages are sent when batch is full or its time window has passed.
      *
      * @param packageToAnotherBank package to send
      */
     private void addPackageTolist(PackageToAnotherBank packageToAnotherBank) {
-        packagesToSend.add(packageToAnotherBank);
+        List<PackageToAnotherBank> packages = packagesToSend.add(packageToAnotherBank);
+        // sending outside of the lock - receiving bank may bounce package back to this bank
+        if (packages != null) {
+            paymentSystemInfrastructure.sendPackages(packages);
+        }
+    }
+
+    /**
+     * Changing batching of packages to other banks
+     *
+     * @param batchSize    number of packages sent at once
+     * @param windowMillis max time in milliseconds package waits for the batch, 0 if batch waits only for its size
+     */
+    public void setPackageBatching(int batchSize, long windowMillis) {
+        packagesToSend.configure(batchSize, windowMillis);
+    }
+
+    /**
+     * Sending all waiting packages to other banks
+     *
+     * @return number of sent packages
+     */
+    public int flushPackages() {
+        List<PackageToAnotherBank> packages = packagesToSend.drain();
+        if (!packages.isEmpty()) {
+            paymentSystemInfrastructure.sendPackages(packages);
+        }
+        return packages.size();
+    }
+
+    /**
+     * Sending waiting packages if the oldest of them has waited longer than the time window. Should be run
+     * periodically (see {@link PackageFlushJob}), so batches are sent on time when no new package comes.
+     *
+     * @return number of sent packages
+     */
+    public int flushExpiredPackages() {
+        List<PackageToAnotherBank> packages = packagesToSend.drainExpired();
+        if (!packages.isEmpty()) {
+            paymentSystemInfrastructure.sendPackages(packages);
+        }
+        return packages.size();
+    }
+
+    /**
+     * Switching to asynchronous delivery - packages from other banks are queued and booked by dedicated thread of
+     * this bank. Senders wait when the queue is full.
+     *
+     * @param capacity max number of batches waiting in the queue
+     */
+    public synchronized void startAsyncDelivery(int capacity) {
+        if (inboundQueue == null) {
+            inboundQueue = new InboundQueue("bank-" + bankId + "-inbound", capacity, this::bookPackages);
+        }
+    }
+
+    /**
+     * Switching back to synchronous delivery. Packages already queued are booked before this method returns.
+     */
+    public synchronized void stopAsyncDelivery() {
+        InboundQueue queue = inboundQueue;
+        if (queue != null) {
+            inboundQueue = null;
+            queue.stop();
+        }
+    }
+
+    /**
+     * Getter
+     *
+     * @return inbound queue with its metrics, null if delivery is synchronous
+     */
+    public InboundQueue getInboundQueue() {
+        return inboundQueue;
+    }
+
+    /**
+     * Delivering batch of packages from another bank - queueing it in asynchronous mode, booking it otherwise
+     *
+     * @param packages packages for accounts of this bank
+     * @return in asynchronous mode true if batch was queued, otherwise true if every package was booked
+     */
+    public boolean deliverPackages(List<PackageToAnotherBank> packages) {
+        InboundQueue queue = inboundQueue;
+        if (queue != null && queue.submit(packages)) {
+            return true;
+        }
+        return receivePackages(packages);
+    }
+
+    /**
+     * Booking net settlement of clearing session of payment network
+     *
+     * @param sessionId number of session
+     * @param netGrosze amount in grosze bank receives, negative if it pays
+     */
+    public void bookSettlement(long sessionId, long netGrosze) {
+        Ack ack = new Ack(null, null, TypeOperation.SETTLEMENT, LocalDate.now(), Description.of(AckTemplate.SESSION_SETTLED, sessionId, Money.toZloty(netGrosze)));
+        bankHistory.add(ack);
+    }
+
+    /**
+     * Receiving batch of packages from another bank
+     *
+     * @param packages packages for accounts of this bank
+     * @return true if every package was booked, false if some were bounced
+     */
+    public boolean receivePackages(List<PackageToAnotherBank> packages) {
+        try {
+            return bookPackages(packages);
+        } catch (NoSuchAccountException e) {
+            // package was already bounced back to sender
+            return false;
+        }
+    }
 
-        if (packagesToSend.size() >= MAX_PACKAGE_AMOUNT) {
-            paymentSystemInfrastructure.sendPackages(packagesToSend);
+    /**
+     * Booking batch of packages from another bank. Package whose account was removed while it was booked is bounced
+     * back to sender, and the failure is thrown once the rest of the batch is booked, so inbound queue counts it.
+     *
+     * @param packages packages for accounts of this bank
+     * @return true if every package was booked, false if some were bounced
+     * @throws NoSuchAccountException if account of some package was removed while it was booked
+     */
+    private boolean bookPackages(List<PackageToAnotherBank> packages) throws NoSuchAccountException {
+        boolean booked = true;
+        NoSuchAccountException failure = null;
+        for (PackageToAnotherBank packageToAnotherBank : packages) {
+            try {
+                booked &= transferFromAnotherBank(packageToAnotherBank);
+            } catch (NoSuchAccountException e) {
+                // bounced package is not bounced again, so two banks cannot pass it back and forth
+                if (packageToAnotherBank.getTypeOfPackage() == TypeOfPackage.NORMAL) {
+                    bounce(packageToAnotherBank);
+                }
+                if (failure == null) {
+                    failure = e;
+                }
+            }
         }
+        if (failure != null) {
+            throw failure;
+        }
+        return booked;
     }
 
     // TODO - sprawdzic metode, w odpowiedni sposob obsluzyc wyjatek
@@ -644,55 +1130,162 @@ public class BankImpl implements Bank {
      * @return true if operation succeeded
      */
     @Override
-    public boolean wrapAccountFromNormalToDebet(int bankAccountId, double limit, String description) {
-        for (int i = 0; i < bankAccounts.size(); i++) {
-            if (bankAccounts.get(i).getId() == bankAccountId) {
-                bankAccounts.set(i, new DebetAccountDecorator(limit, 0, bankAccounts.get(i)));
-                return true;
+    public boolean wrapAccountFromNormalToDebet(int bankAccountId, double limit, CharSequence description) {
+        long stamp = registryLock.writeLock();
+        try {
+            Product bankAccount = bankAccountsById.get(bankAccountId);
+            if (bankAccount == null) {
+                return false;
+            }
+            DebetAccountDecorator debetAccountDecorator = new DebetAccountDecorator(limit, 0, bankAccount);
+            bankAccountsById.put(bankAccountId, debetAccountDecorator);
+            balanceIndex.add(debetAccountDecorator);
+            creationDateIndex.add(debetAccountDecorator);
+            ClientPortfolio portfolio = portfoliosByOwner.get(bankAccount.getOwnerId());
+            if (portfolio != null) {
+                portfolio.replaceBankAccount(bankAccount, debetAccountDecorator);
             }
+            // list keeps creation order, so position has to be found, wrapping is rare compared to lookups
+            bankAccounts.set(bankAccounts.indexOf(bankAccount), debetAccountDecorator);
+            return true;
+        } finally {
+            registryLock.unlockWrite(stamp);
         }
-        return false;
     }
 
     /**
-     * Raporting by minimum account balance value
+     * Raporting by minimum account balance value. Answer comes from index of balances, in logarithmic time plus
+     * number of returned products.
      *
      * @param balance minimum balance of account we are looking for
-     * @return list of Products with bigger balance value
+     * @return list of Products with bigger balance value, ordered by balance
      */
     @Override
     public List<Product> getBankAccountsByBalance(double balance) {
-        ReportBalance reportBalance = new ReportBalance(balance);
-        for (Credit credit : credits) {
-            credit.accept(reportBalance);
-        }
-        for (Deposit deposit : deposits) {
-            deposit.accept(reportBalance);
-        }
-        for (Product bankAccount : bankAccounts) {
-            bankAccount.accept(reportBalance);
+        return balanceIndex.greaterThan(Money.fromZloty(balance));
+    }
+
+    /**
+     * Reporting page of accounts with balance greater than value, ordered by balance. Page is read lazily from index
+     * of balances, previous pages are skipped without copying.
+     *
+     * @param balance minimum balance of account we are looking for
+     * @param offset  number of products to skip
+     * @param limit   max number of products on page
+     * @return list of Products with bigger balance value
+     */
+    @Override
+    public List<Product> getBankAccountsByBalance(double balance, int offset, int limit) {
+        if (offset < 0 || limit < 0) {
+            throw new IllegalArgumentException("Offset and limit cannot be negative");
         }
-        return reportBalance.getProductsWithCriteria();
+        return balanceIndex.streamGreaterThan(Money.fromZloty(balance)).skip(offset).limit(limit).collect(Collectors.toList());
+    }
+
+    /**
+     * Streaming accounts with balance greater than value, ordered by balance. Products are read from index of balances
+     * while stream is consumed, so nothing is materialized up front.
+     *
+     * @param balance minimum balance of account we are looking for
+     * @return stream of Products with bigger balance value
+     */
+    @Override
+    public Stream<Product> streamBankAccountsByBalance(double balance) {
+        return balanceIndex.streamGreaterThan(Money.fromZloty(balance));
+    }
+
+    /**
+     * Reporting products with balance in range
+     *
+     * @param from min balance, inclusive
+     * @param to   max balance, inclusive
+     * @return list of Products ordered by balance
+     */
+    @Override
+    public List<Product> getBankAccountsByBalanceBetween(double from, double to) {
+        return balanceIndex.between(Money.fromZloty(from), Money.fromZloty(to));
+    }
+
+    /**
+     * Reporting products with the greatest balance
+     *
+     * @param number max number of products
+     * @return list of Products, starting from the greatest balance
+     */
+    @Override
+    public List<Product> getTopBankAccountsByBalance(int number) {
+        return balanceIndex.top(number);
     }
 
     /**
-     * Reporting accounts with older date of creating then we are passing
+     * Reporting accounts with older date of creating then we are passing. Answer comes from index of creation dates.
      *
      * @param date date of account creating
-     * @return list of Products with older date of creating
+     * @return list of Products with older date of creating, ordered by date
      */
     @Override
     public List<Product> getBankAccountsByDate(LocalDate date) {
-        ReportCreateMainAccountDate reportCreateMainAccountDate = new ReportCreateMainAccountDate(date);
-        for (Credit credit : credits) {
-            credit.accept(reportCreateMainAccountDate);
+        long stamp = registryLock.readLock();
+        try {
+            return creationDateIndex.createdBefore(date);
+        } finally {
+            registryLock.unlockRead(stamp);
         }
-        for (Deposit deposit : deposits) {
-            deposit.accept(reportCreateMainAccountDate);
+    }
+
+    /**
+     * Running report over all credits, deposits and accounts. Report implementing {@link reports.CombinableReport} is
+     * run in parallel on snapshot of products, other reports are run sequentially. Report pushing products to
+     * {@link reports.ReportSink} is run sequentially and stops as soon as it is finished.
+     *
+     * @param report report to run
+     * @return list of Products meeting report criteria
+     */
+    @Override
+    public List<Product> getProductsByReport(Report report) {
+        return reportExecutor.execute(report, snapshotProducts()).getProductsWithCriteria();
+    }
+
+    private List<Product> snapshotProducts() {
+        long stamp = registryLock.readLock();
+        try {
+            List<Product> products = new ArrayList<>(credits.size() + deposits.size() + bankAccounts.size());
+            products.addAll(credits);
+            products.addAll(deposits);
+            products.addAll(bankAccounts);
+            return products;
+        } finally {
+            registryLock.unlockRead(stamp);
         }
-        for (Product bankAccount : bankAccounts) {
-            bankAccount.accept(reportCreateMainAccountDate);
+    }
+
+    /**
+     * Running several reports in one pass over all credits, deposits and accounts. Results are kept in the reports.
+     *
+     * @param reports reports to run
+     */
+    @Override
+    public void runReports(Report... reports) {
+        reportExecutor.execute(new CompositeReport(reports), snapshotProducts());
+    }
+
+    /**
+     * Paying interests of all credits and accounts in one parallel run
+     *
+     * @return summary of run
+     */
+    @Override
+    public AccrualResult accrueInterests() {
+        List<Product> products;
+        long stamp = registryLock.readLock();
+        try {
+            // deposits get interests once, when they are solved
+            products = new ArrayList<>(credits.size() + bankAccounts.size());
+            products.addAll(credits);
+            products.addAll(bankAccounts);
+        } finally {
+            registryLock.unlockRead(stamp);
         }
-        return reportCreateMainAccountDate.getProductsWithCriteria();
+        return interestAccrualJob.run(products, accountLocks, bankHistory, LocalDate.now());
     }
-}
\ No newline at end of file
+}
@@ -0,0 +1,66 @@
+package bank;
+
+import indexes.LongHashMap;
+
+/**
+ * Net positions between pairs of banks within one settlement session. Opposing flows of the pair cancel out, so only
+ * one net amount per pair has to be settled instead of every package. Position of pair is kept once, as amount owed
+ * by bank with lower id, in a mutable cell keyed by primitive pair key, so recording a package does not box anything.
+ * <p>
+ * Not thread safe - positions are recorded while the closed session is settled, under settlement lock of
+ * {@link PaymentSystemInfrastructure}. Every session gets new netting, so positions never carry over to next session.
+ */
+public class BilateralNetting {
+    private final LongHashMap<long[]> positions = new LongHashMap<>();
+
+    private static long pairKey(int lowerBankId, int higherBankId) {
+        return ((long) lowerBankId << 32) | (higherBankId & 0xFFFFFFFFL);
+    }
+
+    /**
+     * Recording money sent from one bank to another
+     *
+     * @param fromBank bank paying
+     * @param toBank   bank receiving
+     * @param grosze   amount in grosze
+     */
+    public void record(int fromBank, int toBank, long grosze) {
+        if (fromBank == toBank || grosze == 0) {
+            return;
+        }
+        long key = fromBank < toBank ? pairKey(fromBank, toBank) : pairKey(toBank, fromBank);
+        long[] position = positions.get(key);
+        if (position == null) {
+            position = new long[1];
+            positions.put(key, position);
+        }
+        position[0] = Math.addExact(position[0], fromBank < toBank ? grosze : -grosze);
+    }
+
+    /**
+     * Getting net amount one bank owes another
+     *
+     * @param bankId         bank
+     * @param counterpartyId other bank
+     * @return amount in grosze, negative if other bank owes this one
+     */
+    public long getNetPosition(int bankId, int counterpartyId) {
+        if (bankId == counterpartyId) {
+            return 0;
+        }
+        long[] position = positions.get(bankId < counterpartyId ? pairKey(bankId, counterpartyId) : pairKey(counterpartyId, bankId));
+        if (position == null) {
+            return 0;
+        }
+        return bankId < counterpartyId ? position[0] : -position[0];
+    }
+
+    /**
+     * Getter
+     *
+     * @return number of pairs of banks with recorded flows
+     */
+    public int size() {
+        return positions.size();
+    }
+}
@@ -0,0 +1,146 @@
+package bank;
+
+import services.Credit;
+import services.Deposit;
+import services.Product;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+
+/**
+ * All products of one client in the bank. It is maintained by bank on every product creation and removal,
+ * so client's products can be listed without scanning all accounts, credits and deposits.
+ * <p>
+ * Portfolio kept by bank is modified under its registry lock. Bank hands out only snapshots copied under that lock,
+ * so readers never see lists changed by other threads.
+ */
+public class ClientPortfolio {
+    private final int clientId;
+    private final List<Product> bankAccounts;
+    private final List<Credit> credits;
+    private final List<Deposit> deposits;
+
+    ClientPortfolio(int clientId) {
+        this.clientId = clientId;
+        bankAccounts = new ArrayList<>();
+        credits = new ArrayList<>();
+        deposits = new ArrayList<>();
+    }
+
+    private ClientPortfolio(ClientPortfolio portfolio) {
+        clientId = portfolio.clientId;
+        bankAccounts = new ArrayList<>(portfolio.bankAccounts);
+        credits = new ArrayList<>(portfolio.credits);
+        deposits = new ArrayList<>(portfolio.deposits);
+    }
+
+    /**
+     * Copying portfolio, must be called under lock guarding it
+     *
+     * @return copy which is not changed with this portfolio
+     */
+    ClientPortfolio snapshot() {
+        return new ClientPortfolio(this);
+    }
+
+    /**
+     * Getter
+     *
+     * @return id of client owning products
+     */
+    public int getClientId() {
+        return clientId;
+    }
+
+    /**
+     * Getter
+     *
+     * @return client's bank accounts, including debet ones
+     */
+    public List<Product> getBankAccounts() {
+        return Collections.unmodifiableList(bankAccounts);
+    }
+
+    /**
+     * Getter
+     *
+     * @return client's credits
+     */
+    public List<Credit> getCredits() {
+        return Collections.unmodifiableList(credits);
+    }
+
+    /**
+     * Getter
+     *
+     * @return client's deposits
+     */
+    public List<Deposit> getDeposits() {
+        return Collections.unmodifiableList(deposits);
+    }
+
+    /**
+     * Getting all client's products: accounts, credits and deposits
+     *
+     * @return list of all products
+     */
+    public List<Product> getProducts() {
+        List<Product> products = new ArrayList<>(size());
+        products.addAll(bankAccounts);
+        products.addAll(credits);
+        products.addAll(deposits);
+        return products;
+    }
+
+    /**
+     * Getter
+     *
+     * @return number of client's products
+     */
+    public int size() {
+        return bankAccounts.size() + credits.size() + deposits.size();
+    }
+
+    /**
+     * Checking if client has any product
+     *
+     * @return true if client has no products
+     */
+    public boolean isEmpty() {
+        return size() == 0;
+    }
+
+    void addBankAccount(Product bankAccount) {
+        bankAccounts.add(bankAccount);
+    }
+
+    /**
+     * Replacing account with its new version, e.g. wrapped in debet decorator
+     *
+     * @param oldBankAccount account to replace
+     * @param newBankAccount new account
+     */
+    void replaceBankAccount(Product oldBankAccount, Product newBankAccount) {
+        int index = bankAccounts.indexOf(oldBankAccount);
+        if (index >= 0) {
+            bankAccounts.set(index, newBankAccount);
+        }
+    }
+
+    void addCredit(Credit credit) {
+        credits.add(credit);
+    }
+
+    void removeCredit(Credit credit) {
+        credits.remove(credit);
+    }
+
+    void addDeposit(Deposit deposit) {
+        deposits.add(deposit);
+    }
+
+    void removeDeposit(Deposit deposit) {
+        deposits.remove(deposit);
+    }
+}
@@ -0,0 +1,86 @@
+package bank;
+
+import services.ConnectedAccount;
+import services.Product;
+
+import java.time.LocalDate;
+import java.util.ArrayList;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.TreeMap;
+
+/**
+ * Products bucketed by date of creation of their main account - for credit and deposit it is date of the account they
+ * are connected to, like in {@link reports.ReportCreateMainAccountDate}. Dates never change, so product is put in its
+ * bucket once, when it is created.
+ * <p>
+ * Index is not thread-safe, bank guards it with its registry lock.
+ */
+public class CreationDateIndex {
+    private final TreeMap<LocalDate, Map<Integer, Product>> buckets = new TreeMap<>();
+
+    private static LocalDate mainAccountDate(Product product) {
+        if (product instanceof ConnectedAccount) {
+            return ((ConnectedAccount) product).getBankAccount().getLocalDate();
+        }
+        return product.getLocalDate();
+    }
+
+    /**
+     * Adding product to the index, or replacing product with the same id, e.g. account wrapped in debet decorator
+     *
+     * @param product product
+     */
+    public void add(Product product) {
+        buckets.computeIfAbsent(mainAccountDate(product), date -> new LinkedHashMap<>()).put(product.getId(), product);
+    }
+
+    /**
+     * Removing product from the index
+     *
+     * @param product product
+     */
+    public void remove(Product product) {
+        LocalDate date = mainAccountDate(product);
+        Map<Integer, Product> bucket = buckets.get(date);
+        if (bucket != null) {
+            bucket.remove(product.getId());
+            if (bucket.isEmpty()) {
+                buckets.remove(date);
+            }
+        }
+    }
+
+    /**
+     * Getting products with main account created before date, ordered by date
+     *
+     * @param date date of creation
+     * @return list of products
+     */
+    public List<Product> createdBefore(LocalDate date) {
+        List<Product> products = new ArrayList<>();
+        for (Map<Integer, Product> bucket : buckets.headMap(date, false).values()) {
+            products.addAll(bucket.values());
+        }
+        return products;
+    }
+
+    /**
+     * Getting products with main account created in range of dates, ordered by date
+     *
+     * @param from first date, inclusive
+     * @param to   last date, inclusive
+     * @return list of products
+     */
+    public List<Product> createdBetween(LocalDate from, LocalDate to) {
+        List<Product> products = new ArrayList<>();
+        if (from.isAfter(to)) {
+            return products;
+        }
+        for (Map<Integer, Product> bucket : buckets.subMap(from, true, to, true).values()) {
+            products.addAll(bucket.values());
+        }
+        return products;
+    }
+}
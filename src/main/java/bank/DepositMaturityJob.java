@@ -0,0 +1,36 @@
+package bank;
+
+import java.time.Duration;
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.ScheduledFuture;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Daily job solving deposits of the bank which have expired
+ */
+public class DepositMaturityJob implements Runnable {
+    private final Bank bank;
+
+    public DepositMaturityJob(Bank bank) {
+        this.bank = bank;
+    }
+
+    @Override
+    public void run() {
+        bank.settleMaturedDeposits(LocalDate.now());
+    }
+
+    /**
+     * Scheduling the job to run every day just after midnight
+     *
+     * @param scheduler scheduler running the job
+     * @return handle of scheduled job
+     */
+    public ScheduledFuture<?> scheduleDaily(ScheduledExecutorService scheduler) {
+        LocalDateTime now = LocalDateTime.now();
+        long delay = Duration.between(now, now.toLocalDate().plusDays(1).atStartOfDay()).toMillis();
+        return scheduler.scheduleAtFixedRate(this, delay, TimeUnit.DAYS.toMillis(1), TimeUnit.MILLISECONDS);
+    }
+}
@@ -0,0 +1,254 @@
+package bank;
+
+import messages.PackageToAnotherBank;
+
+import java.util.List;
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.BlockingQueue;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.LongAdder;
+import java.util.concurrent.locks.ReadWriteLock;
+import java.util.concurrent.locks.ReentrantReadWriteLock;
+
+/**
+ * Bounded queue of packages coming to the bank, booked by one dedicated consumer thread, so sender does not wait for
+ * receiving bank. When queue is full, sender waits until there is room - except consumers of inbound queues, which
+ * book the batch themselves, so two banks bouncing packages to each other cannot block each other forever.
+ * <p>
+ * Batches are queued under read lock and queue is stopped under write lock, so no batch is queued after stop. Batch
+ * which could not be queued is refused and sender books it itself.
+ */
+public class InboundQueue {
+    private static final long POLL_MILLIS = 100;
+
+    private final BlockingQueue<Batch> queue;
+    private final Handler handler;
+    private final Thread consumer;
+    private final ReadWriteLock stateLock = new ReentrantReadWriteLock();
+    private volatile boolean running = true;
+    // metrics
+    private final LongAdder deliveredBatches = new LongAdder();
+    private final LongAdder deliveredPackages = new LongAdder();
+    private final LongAdder failedBatches = new LongAdder();
+    private volatile Exception lastFailure;
+    private final LongAdder blockedSubmits = new LongAdder();
+    private final LongAdder totalLatencyNanos = new LongAdder();
+    private final AtomicLong maxLatencyNanos = new AtomicLong();
+
+    /**
+     * Booking of batch taken from the queue
+     */
+    public interface Handler {
+        /**
+         * Booking batch of packages
+         *
+         * @param packages packages for the bank
+         * @throws Exception if batch was not booked completely, counted as failed batch
+         */
+        void book(List<PackageToAnotherBank> packages) throws Exception;
+    }
+
+    /**
+     * Batch of packages with time when it was queued
+     */
+    private static class Batch {
+        private final List<PackageToAnotherBank> packages;
+        private final long queuedNanos;
+
+        Batch(List<PackageToAnotherBank> packages) {
+            this.packages = packages;
+            this.queuedNanos = System.nanoTime();
+        }
+    }
+
+    /**
+     * Thread booking packages of one queue
+     */
+    private static class ConsumerThread extends Thread {
+        ConsumerThread(Runnable task, String name) {
+            super(task, name);
+            setDaemon(true);
+        }
+    }
+
+    /**
+     * Constructor, starts consumer thread
+     *
+     * @param name     name of consumer thread
+     * @param capacity max number of batches waiting in the queue
+     * @param handler  booking of batch
+     */
+    public InboundQueue(String name, int capacity, Handler handler) {
+        this.queue = new ArrayBlockingQueue<>(capacity);
+        this.handler = handler;
+        this.consumer = new ConsumerThread(this::consume, name);
+        consumer.start();
+    }
+
+    private void consume() {
+        while (running || !queue.isEmpty()) {
+            Batch batch;
+            try {
+                batch = queue.poll(POLL_MILLIS, TimeUnit.MILLISECONDS);
+            } catch (InterruptedException e) {
+                continue;
+            }
+            if (batch != null) {
+                book(batch.packages, batch.queuedNanos);
+            }
+        }
+    }
+
+    private void book(List<PackageToAnotherBank> packages, long queuedNanos) {
+        try {
+            handler.book(packages);
+        } catch (Exception e) {
+            failedBatches.increment();
+            lastFailure = e;
+            return;
+        }
+        long latency = System.nanoTime() - queuedNanos;
+        deliveredBatches.increment();
+        deliveredPackages.add(packages.size());
+        totalLatencyNanos.add(latency);
+        maxLatencyNanos.accumulateAndGet(latency, Math::max);
+    }
+
+    /**
+     * Putting batch in the queue, waiting while queue is full
+     *
+     * @param packages packages for the bank
+     * @return false if batch was not queued - queue was already stopped or sender was interrupted
+     */
+    public boolean submit(List<PackageToAnotherBank> packages) {
+        stateLock.readLock().lock();
+        try {
+            if (!running) {
+                return false;
+            }
+            Batch batch = new Batch(packages);
+            if (queue.offer(batch)) {
+                return true;
+            }
+            blockedSubmits.increment();
+            if (Thread.currentThread() instanceof ConsumerThread) {
+                // consumer of other queue must not wait - it would stop its own queue
+                book(packages, batch.queuedNanos);
+                return true;
+            }
+            // consumer keeps running while sender holds read lock, so it makes room
+            queue.put(batch);
+            return true;
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            return false;
+        } finally {
+            stateLock.readLock().unlock();
+        }
+    }
+
+    /**
+     * Stopping the queue - batches already queued are booked before this method returns
+     */
+    public void stop() {
+        stateLock.writeLock().lock();
+        try {
+            running = false;
+        } finally {
+            stateLock.writeLock().unlock();
+        }
+        try {
+            consumer.join();
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        }
+        // join may have been interrupted - batches left are booked by stopping thread
+        Batch batch;
+        while ((batch = queue.poll()) != null) {
+            book(batch.packages, batch.queuedNanos);
+        }
+    }
+
+    /**
+     * Getter
+     *
+     * @return number of batches waiting in the queue
+     */
+    public int getDepth() {
+        return queue.size();
+    }
+
+    /**
+     * Getter
+     *
+     * @return number of batches the queue can hold
+     */
+    public int getCapacity() {
+        return queue.size() + queue.remainingCapacity();
+    }
+
+    /**
+     * Getter
+     *
+     * @return number of booked batches
+     */
+    public long getDeliveredBatches() {
+        return deliveredBatches.sum();
+    }
+
+    /**
+     * Getter
+     *
+     * @return number of booked packages
+     */
+    public long getDeliveredPackages() {
+        return deliveredPackages.sum();
+    }
+
+    /**
+     * Getter
+     *
+     * @return number of batches whose booking threw exception
+     */
+    public long getFailedBatches() {
+        return failedBatches.sum();
+    }
+
+    /**
+     * Getter
+     *
+     * @return exception thrown by last failed booking, null if there was none
+     */
+    public Exception getLastFailure() {
+        return lastFailure;
+    }
+
+    /**
+     * Getter
+     *
+     * @return number of times sender found the queue full
+     */
+    public long getBlockedSubmits() {
+        return blockedSubmits.sum();
+    }
+
+    /**
+     * Getter
+     *
+     * @return average time in nanoseconds from queueing batch to end of its booking
+     */
+    public long getAverageLatencyNanos() {
+        long batches = deliveredBatches.sum();
+        return batches == 0 ? 0 : totalLatencyNanos.sum() / batches;
+    }
+
+    /**
+     * Getter
+     *
+     * @return max time in nanoseconds from queueing batch to end of its booking
+     */
+    public long getMaxLatencyNanos() {
+        return maxLatencyNanos.get();
+    }
+}
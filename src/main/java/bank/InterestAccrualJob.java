@@ -0,0 +1,119 @@
+package bank;
+
+import history.History;
+import messages.Ack;
+import messages.AckTemplate;
+import messages.Description;
+import operations.Command;
+import services.Credit;
+import services.Product;
+
+import java.time.LocalDate;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.RecursiveTask;
+
+/**
+ * Month-end job paying interests of accounts and credits of the bank. Deposits are not accrued - they get interests
+ * once, when they are solved. Products are processed in parallel chunks; every product gets interests by the same
+ * operation as when it is paid one by one, under stripe lock of the product, and ACKs of whole chunk are appended to
+ * bank history at once.
+ */
+public class InterestAccrualJob {
+    public static final int DEFAULT_CHUNK_SIZE = 8192;
+
+    private final ForkJoinPool pool;
+    private final int chunkSize;
+
+    public InterestAccrualJob() {
+        this(ForkJoinPool.commonPool(), DEFAULT_CHUNK_SIZE);
+    }
+
+    /**
+     * Constructor
+     *
+     * @param pool      pool running the job
+     * @param chunkSize number of products processed by one task
+     */
+    public InterestAccrualJob(ForkJoinPool pool, int chunkSize) {
+        if (chunkSize < 1) {
+            throw new IllegalArgumentException("Chunk size must be positive");
+        }
+        this.pool = pool;
+        this.chunkSize = chunkSize;
+    }
+
+    /**
+     * Paying interests
+     *
+     * @param products     accounts and credits
+     * @param accountLocks locks taken by other operations changing balances
+     * @param bankHistory  history getting ACKs of payments
+     * @param date         date of accrual
+     * @return summary of run
+     */
+    public AccrualResult run(List<? extends Product> products, StripedLocks accountLocks, History bankHistory, LocalDate date) {
+        // one description shared by all ACKs of the run
+        Description description = Description.of(AckTemplate.INTERESTS_ACCRUED, date);
+        long start = System.nanoTime();
+        long accrued = pool.invoke(new AccrualTask(products, 0, products.size(), accountLocks, bankHistory, description));
+        return new AccrualResult(products.size(), accrued, System.nanoTime() - start);
+    }
+
+    private static Command payPercentageOperation(Product product, Description description) {
+        if (product instanceof Credit) {
+            return new operationcredit.PayPercentageOperation((Credit) product, description);
+        }
+        return new operationbank.PayPercentageOperation(product, description);
+    }
+
+    /**
+     * Paying interests of range of products
+     */
+    @SuppressWarnings("serial")
+    private class AccrualTask extends RecursiveTask<Long> {
+        private final List<? extends Product> products;
+        private final int from;
+        private final int to;
+        private final StripedLocks accountLocks;
+        private final History bankHistory;
+        private final Description description;
+
+        AccrualTask(List<? extends Product> products, int from, int to, StripedLocks accountLocks, History bankHistory, Description description) {
+            this.products = products;
+            this.from = from;
+            this.to = to;
+            this.accountLocks = accountLocks;
+            this.bankHistory = bankHistory;
+            this.description = description;
+        }
+
+        @Override
+        protected Long compute() {
+            if (to - from <= chunkSize) {
+                List<Ack> acks = new ArrayList<>();
+                for (int i = from; i < to; i++) {
+                    Product product = products.get(i);
+                    Ack ack;
+                    accountLocks.lock(product.getId());
+                    try {
+                        ack = payPercentageOperation(product, description).execute();
+                    } finally {
+                        accountLocks.unlock(product.getId());
+                    }
+                    if (ack != null) {
+                        acks.add(ack);
+                    }
+                }
+                bankHistory.addAll(acks);
+                return (long) acks.size();
+            }
+            int middle = (from + to) >>> 1;
+            AccrualTask right = new AccrualTask(products, middle, to, accountLocks, bankHistory, description);
+            right.fork();
+            long left = new AccrualTask(products, from, middle, accountLocks, bankHistory, description).compute();
+            return left + right.join();
+        }
+    }
+}
@@ -0,0 +1,87 @@
+package bank;
+
+import indexes.IntHashMap;
+import services.Deposit;
+
+import java.time.LocalDate;
+import java.util.ArrayList;
+import java.util.Iterator;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.TreeMap;
+
+/**
+ * Deposits bucketed by day of maturity, so deposits due on given day are found without scanning all of them. Taking
+ * due deposits costs log of number of days plus number of deposits taken.
+ * <p>
+ * Day of maturity is remembered for every deposit when it is added, so deposit is found and removed from its bucket
+ * even if its duration or start date has changed since then.
+ * <p>
+ * Calendar is not thread-safe, bank guards it with its registry lock.
+ */
+public class MaturityCalendar {
+    private final TreeMap<LocalDate, Map<Integer, Deposit>> buckets = new TreeMap<>();
+    // day of bucket holding deposit, by deposit id
+    private final IntHashMap<LocalDate> datesById = new IntHashMap<>();
+
+    /**
+     * Adding deposit to the calendar, on its day of maturity. Deposit already in the calendar is moved to its current
+     * day of maturity.
+     *
+     * @param deposit deposit
+     */
+    public void add(Deposit deposit) {
+        remove(deposit);
+        LocalDate maturityDate = deposit.getMaturityDate();
+        buckets.computeIfAbsent(maturityDate, date -> new LinkedHashMap<>()).put(deposit.getId(), deposit);
+        datesById.put(deposit.getId(), maturityDate);
+    }
+
+    /**
+     * Removing deposit from the calendar, e.g. when it is broken up or deleted
+     *
+     * @param deposit deposit
+     * @return true if deposit was in the calendar
+     */
+    public boolean remove(Deposit deposit) {
+        LocalDate date = datesById.remove(deposit.getId());
+        if (date == null) {
+            return false;
+        }
+        Map<Integer, Deposit> bucket = buckets.get(date);
+        bucket.remove(deposit.getId());
+        if (bucket.isEmpty()) {
+            buckets.remove(date);
+        }
+        return true;
+    }
+
+    /**
+     * Taking deposits matured on given day or earlier out of the calendar, ordered by day of maturity
+     *
+     * @param date current day
+     * @return list of deposits
+     */
+    public List<Deposit> pollDue(LocalDate date) {
+        List<Deposit> due = new ArrayList<>();
+        Iterator<Map<Integer, Deposit>> iterator = buckets.headMap(date, true).values().iterator();
+        while (iterator.hasNext()) {
+            for (Deposit deposit : iterator.next().values()) {
+                datesById.remove(deposit.getId());
+                due.add(deposit);
+            }
+            iterator.remove();
+        }
+        return due;
+    }
+
+    /**
+     * Getter
+     *
+     * @return number of deposits in the calendar
+     */
+    public int size() {
+        return datesById.size();
+    }
+}
@@ -0,0 +1,96 @@
+package bank;
+
+import messages.PackageToAnotherBank;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Packages waiting to be sent to other banks. Batch is released when it reaches its size or when its oldest package
+ * has waited longer than the time window. Released packages are taken out, so every package is sent once.
+ */
+public class PackageBatcher {
+    private List<PackageToAnotherBank> packages = new ArrayList<>();
+    private int batchSize;
+    private long windowNanos;
+    private long oldestNanos;
+
+    /**
+     * Constructor
+     *
+     * @param batchSize    number of packages sent at once
+     * @param windowMillis max time in milliseconds package waits for the batch, 0 if batch waits only for its size
+     */
+    public PackageBatcher(int batchSize, long windowMillis) {
+        configure(batchSize, windowMillis);
+    }
+
+    /**
+     * Changing size and time window of batches
+     *
+     * @param batchSize    number of packages sent at once
+     * @param windowMillis max time in milliseconds package waits for the batch, 0 if batch waits only for its size
+     */
+    public synchronized void configure(int batchSize, long windowMillis) {
+        if (batchSize < 1 || windowMillis < 0) {
+            throw new IllegalArgumentException("Batch size must be positive and time window not negative");
+        }
+        this.batchSize = batchSize;
+        this.windowNanos = TimeUnit.MILLISECONDS.toNanos(windowMillis);
+    }
+
+    /**
+     * Adding package to the batch
+     *
+     * @param packageToAnotherBank package to send
+     * @return packages to send now or null if batch is not ready yet
+     */
+    public synchronized List<PackageToAnotherBank> add(PackageToAnotherBank packageToAnotherBank) {
+        long now = System.nanoTime();
+        if (packages.isEmpty()) {
+            oldestNanos = now;
+        }
+        packages.add(packageToAnotherBank);
+        if (packages.size() >= batchSize || (windowNanos > 0 && now - oldestNanos >= windowNanos)) {
+            return drain();
+        }
+        return null;
+    }
+
+    /**
+     * Taking all waiting packages out of the batch
+     *
+     * @return packages to send, empty if there are none
+     */
+    public synchronized List<PackageToAnotherBank> drain() {
+        if (packages.isEmpty()) {
+            return Collections.emptyList();
+        }
+        List<PackageToAnotherBank> batch = packages;
+        packages = new ArrayList<>(batchSize);
+        return batch;
+    }
+
+    /**
+     * Taking waiting packages out if the oldest of them has waited longer than the time window
+     *
+     * @return packages to send, empty if batch is not due
+     */
+    public synchronized List<PackageToAnotherBank> drainExpired() {
+        if (packages.isEmpty() || windowNanos == 0 || System.nanoTime() - oldestNanos < windowNanos) {
+            return Collections.emptyList();
+        }
+        return drain();
+    }
+
+    /**
+     * Getter
+     *
+     * @return number of waiting packages
+     */
+    public synchronized int size() {
+        return packages.size();
+    }
+}
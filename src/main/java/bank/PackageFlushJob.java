@@ -0,0 +1,33 @@
+package bank;
+
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.ScheduledFuture;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Periodic job sending batches of packages of the bank whose time window has passed, so a partial batch does not wait
+ * for next package to come
+ */
+public class PackageFlushJob implements Runnable {
+    private final BankImpl bank;
+
+    public PackageFlushJob(BankImpl bank) {
+        this.bank = bank;
+    }
+
+    @Override
+    public void run() {
+        bank.flushExpiredPackages();
+    }
+
+    /**
+     * Scheduling the job to run periodically
+     *
+     * @param scheduler    scheduler running the job
+     * @param periodMillis time in milliseconds between runs, should not be longer than time window of batches
+     * @return handle of scheduled job
+     */
+    public ScheduledFuture<?> schedule(ScheduledExecutorService scheduler, long periodMillis) {
+        return scheduler.scheduleAtFixedRate(this, periodMillis, periodMillis, TimeUnit.MILLISECONDS);
+    }
+}
@@ -1,45 +1,223 @@
 package bank;
 
-import exceptions.NoSuchAccountException;
 import messages.PackageToAnotherBank;
 import services.IdGenerator;
 
-import java.util.HashMap;
+import java.time.Duration;
+import java.time.LocalDateTime;
+import java.time.LocalTime;
+import java.util.ArrayList;
+import java.util.LinkedHashMap;
 import java.util.List;
 import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.ScheduledFuture;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.locks.ReentrantLock;
+import java.util.concurrent.locks.StampedLock;
 
+/**
+ * Payment network connecting banks created by it. Every infrastructure object is separate network with its own
+ * registry of banks, so many networks can run side by side in one JVM. Banks can be created and packages routed by
+ * many threads at once - routing reads the registry without locks.
+ * <p>
+ * In session clearing mode packages are not delivered when they are sent, but collected in current settlement session.
+ * At cut-off the session is settled: every bank books one net settlement of the session and then gets all its packages
+ * in one batch.
+ */
 public class PaymentSystemInfrastructure {
-    private static Map<Integer, BankImpl> bankMap = new HashMap<>();
+    private final Map<Integer, BankImpl> bankMap = new ConcurrentHashMap<>();
+    // guards switching of sessions, packages are added under read lock
+    private final StampedLock sessionLock = new StampedLock();
+    // cut-offs are settled one by one, in order of closing sessions
+    private final ReentrantLock settlementLock = new ReentrantLock();
+    // current session, null if packages are delivered at once
+    private volatile SettlementSession session;
+    private long lastSessionId;
+
+    private static Map<Integer, List<PackageToAnotherBank>> groupByReceivingBank(List<PackageToAnotherBank> listOfPackages) {
+        Map<Integer, List<PackageToAnotherBank>> batches = new LinkedHashMap<>();
+        for (PackageToAnotherBank p : listOfPackages) {
+            batches.computeIfAbsent(p.getToBank(), bank -> new ArrayList<>()).add(p);
+        }
+        return batches;
+    }
 
     /**
-     * sending packages to another bank
+     * sending packages to another bank. Packages are grouped by receiving bank, so every bank gets one batch. Bank with
+     * asynchronous delivery only queues its batch. In session clearing mode packages are only added to current
+     * session and netted when it is settled.
      *
      * @param listOfPackages packages we want to send
-     * @return true if operation succeeded
+     * @return true if every package reached its bank and was booked or queued there
      */
     public boolean sendPackages(List<PackageToAnotherBank> listOfPackages) {
-        listOfPackages.stream().forEach(p -> {
-            BankImpl bankTo = bankMap.get(p.getToBank());
-            BankImpl bankFrom = bankMap.get(p.getFromBank());
-            if (bankTo != null) {
-                try {
-                    bankTo.transferFromAnotherBank(p);
-                } catch (NoSuchAccountException e) {
-                    e.printStackTrace();
+        Map<Integer, List<PackageToAnotherBank>> batches = groupByReceivingBank(listOfPackages);
+        boolean delivered = !listOfPackages.isEmpty();
+        // immediate delivery takes no lock, read lock is needed only to add packages to open session
+        long stamp = sessionLock.tryOptimisticRead();
+        if (session != null || !sessionLock.validate(stamp)) {
+            stamp = sessionLock.readLock();
+            try {
+                SettlementSession current = session;
+                if (current != null) {
+                    for (Map.Entry<Integer, List<PackageToAnotherBank>> batch : batches.entrySet()) {
+                        if (bankMap.containsKey(batch.getKey())) {
+                            current.addAll(batch.getValue());
+                        } else {
+                            delivered = false;
+                        }
+                    }
+                    return delivered;
+                }
+            } finally {
+                sessionLock.unlockRead(stamp);
+            }
+        }
+        for (Map.Entry<Integer, List<PackageToAnotherBank>> batch : batches.entrySet()) {
+            BankImpl bankTo = bankMap.get(batch.getKey());
+            if (bankTo == null) {
+                delivered = false;
+                continue;
+            }
+            delivered &= bankTo.deliverPackages(batch.getValue());
+        }
+        return delivered;
+    }
+
+    /**
+     * Switching to session clearing mode - packages are collected until the session is settled
+     */
+    public void startSessionClearing() {
+        long stamp = sessionLock.writeLock();
+        try {
+            if (session == null) {
+                session = new SettlementSession(++lastSessionId);
+            }
+        } finally {
+            sessionLock.unlockWrite(stamp);
+        }
+    }
+
+    /**
+     * Switching back to delivering packages at once. Packages collected so far are settled.
+     *
+     * @return result of settling last session, null if session clearing was not running
+     */
+    public SettlementResult stopSessionClearing() {
+        settlementLock.lock();
+        try {
+            SettlementSession closed;
+            long stamp = sessionLock.writeLock();
+            try {
+                closed = session;
+                session = null;
+            } finally {
+                sessionLock.unlockWrite(stamp);
+            }
+            return closed == null ? null : settle(closed);
+        } finally {
+            settlementLock.unlock();
+        }
+    }
+
+    /**
+     * Cut-off of current session - new session is opened for next packages and the closed one is settled with
+     * multilateral netting across all banks of the network. Cut-offs run one at a time, so sessions are settled in
+     * order.
+     *
+     * @return result of settling the session, null if session clearing is not running
+     */
+    public SettlementResult settleSession() {
+        settlementLock.lock();
+        try {
+            SettlementSession closed;
+            long stamp = sessionLock.writeLock();
+            try {
+                closed = session;
+                if (closed != null) {
+                    session = new SettlementSession(++lastSessionId);
                 }
+            } finally {
+                sessionLock.unlockWrite(stamp);
+            }
+            return closed == null ? null : settle(closed);
+        } finally {
+            settlementLock.unlock();
+        }
+    }
+
+    private SettlementResult settle(SettlementSession closed) {
+        List<PackageToAnotherBank> packages = closed.getPackages();
+        Map<Integer, Long> netPositions = new LinkedHashMap<>();
+        BilateralNetting netting = new BilateralNetting();
+        for (PackageToAnotherBank p : packages) {
+            netPositions.merge(p.getFromBank(), -p.getValueGrosze(), Long::sum);
+            netPositions.merge(p.getToBank(), p.getValueGrosze(), Long::sum);
+            netting.record(p.getFromBank(), p.getToBank(), p.getValueGrosze());
+        }
+        for (Map.Entry<Integer, Long> netPosition : netPositions.entrySet()) {
+            BankImpl bank = bankMap.get(netPosition.getKey());
+            if (bank != null) {
+                bank.bookSettlement(closed.getId(), netPosition.getValue());
+            }
+        }
+        // itemised credits - banks are taken from registry when packages are added to session
+        for (Map.Entry<Integer, List<PackageToAnotherBank>> batch : groupByReceivingBank(packages).entrySet()) {
+            bankMap.get(batch.getKey()).deliverPackages(batch.getValue());
+        }
+        return new SettlementResult(closed.getId(), packages.size(), netPositions, netting);
+    }
+
+    /**
+     * Scheduling cut-offs of sessions every day at given times
+     *
+     * @param scheduler scheduler running cut-offs
+     * @param cutOffs   times of cut-offs
+     * @return handles of scheduled cut-offs
+     */
+    public List<ScheduledFuture<?>> scheduleCutOffs(ScheduledExecutorService scheduler, List<LocalTime> cutOffs) {
+        List<ScheduledFuture<?>> futures = new ArrayList<>();
+        LocalDateTime now = LocalDateTime.now();
+        for (LocalTime cutOff : cutOffs) {
+            LocalDateTime next = now.toLocalDate().atTime(cutOff);
+            if (!next.isAfter(now)) {
+                next = next.plusDays(1);
             }
-        });
-        return false;
+            long delay = Duration.between(now, next).toMillis();
+            futures.add(scheduler.scheduleAtFixedRate(this::settleSession, delay, TimeUnit.DAYS.toMillis(1), TimeUnit.MILLISECONDS));
+        }
+        return futures;
+    }
+
+    /**
+     * Getting bank of this network
+     *
+     * @param bankId unique bank id
+     * @return bank or null if there is no such bank in this network
+     */
+    public BankImpl getBankById(int bankId) {
+        return bankMap.get(bankId);
+    }
+
+    /**
+     * Getter
+     *
+     * @return number of banks in this network
+     */
+    public int getBanksNumber() {
+        return bankMap.size();
     }
 
     /**
-     * Creating new bank with unique id
+     * Creating new bank with unique id, connected to this network
      *
      * @return new bank
      */ // TODO - Factory bank
     public BankImpl createNewBank() {
         int id = IdGenerator.generateBankId();
-        BankImpl bank = new BankImpl(id);
+        BankImpl bank = new BankImpl(id, this);
         bankMap.put(id, bank);
         return bank;
     }
@@ -6,10 +6,19 @@ import messages.Ack;
 import messages.TypeOperation;
 
 import java.time.LocalDate;
+import java.util.ArrayList;
+import java.util.EnumSet;
 import java.util.List;
-import java.util.stream.Collectors;
+import java.util.Set;
 
 public class Reporting {
+    private static final Set<TypeOperation> CLIENTS_TYPES = EnumSet.of(TypeOperation.ADD_NEW_CLIENT, TypeOperation.DELETE_CLIENT);
+    private static final Set<TypeOperation> TRANSFER_TYPES = EnumSet.of(TypeOperation.TRANSFER);
+    private static final Set<TypeOperation> PERCENTAGE_TYPES = EnumSet.of(TypeOperation.PAY_PERCENTAGE, TypeOperation.CHANGE_PERCENTAGE);
+    private static final Set<TypeOperation> PAYMENT_TYPES = EnumSet.of(TypeOperation.PAYMENT);
+    private static final Set<TypeOperation> ACCOUNTS_TYPES = EnumSet.of(TypeOperation.CREATE_ACCOUNT, TypeOperation.DELETE_ACCOUNT);
+    private static final Set<TypeOperation> CREDIT_TYPES = EnumSet.of(TypeOperation.DELETE_CREDIT);
+
     private History history;
 
     public Reporting(History history) {
@@ -22,7 +31,7 @@ public class Reporting {
      * @return list of reports with client management
      */
     public List<Ack> createClientsReports() {
-        List<Ack> clientsHistoryList = history.returnList().stream().filter(ack -> ack.getTypeOperation() == TypeOperation.ADD_NEW_CLIENT || ack.getTypeOperation() == TypeOperation.DELETE_CLIENT).collect(Collectors.toList());
+        List<Ack> clientsHistoryList = new ArrayList<>(history.returnList(CLIENTS_TYPES));
         return clientsHistoryList;
     }
 
@@ -32,7 +41,7 @@ public class Reporting {
      * @return list of reports with trnsfers
      */
     public List<Ack> createTransferReports() {
-        List<Ack> transferHistoryList = history.returnList().stream().filter(ack -> ack.getTypeOperation() == TypeOperation.TRANSFER).collect(Collectors.toList());
+        List<Ack> transferHistoryList = new ArrayList<>(history.returnList(TRANSFER_TYPES));
         return transferHistoryList;
     }
 
@@ -42,7 +51,7 @@ public class Reporting {
      * @return list of reports with percentage
      */
     public List<Ack> createPercentageReports() {
-        List<Ack> percentageHistoryList = history.returnList().stream().filter(ack -> ack.getTypeOperation() == TypeOperation.PAY_PERCENTAGE || ack.getTypeOperation() == TypeOperation.CHANGE_PERCENTAGE).collect(Collectors.toList());
+        List<Ack> percentageHistoryList = new ArrayList<>(history.returnList(PERCENTAGE_TYPES));
         return percentageHistoryList;
     }
 
@@ -52,7 +61,7 @@ public class Reporting {
      * @return list of reports with payments
      */
     public List<Ack> createPaymentReports() {
-        List<Ack> paymentHistoryList = history.returnList().stream().filter(ack -> ack.getTypeOperation() == TypeOperation.PAYMENT).collect(Collectors.toList());
+        List<Ack> paymentHistoryList = new ArrayList<>(history.returnList(PAYMENT_TYPES));
         return paymentHistoryList;
     }
 
@@ -62,7 +71,7 @@ public class Reporting {
      * @return list of reports with accounts
      */
     public List<Ack> createAccountsReports() {
-        List<Ack> accountHistoryList = history.returnList().stream().filter(ack -> ack.getTypeOperation() == TypeOperation.CREATE_ACCOUNT || ack.getTypeOperation() == TypeOperation.DELETE_ACCOUNT).collect(Collectors.toList());
+        List<Ack> accountHistoryList = new ArrayList<>(history.returnList(ACCOUNTS_TYPES));
         return accountHistoryList;
     }
 
@@ -72,7 +81,7 @@ public class Reporting {
      * @return list of reports with credits
      */
     public List<Ack> createCreditReports() {
-        List<Ack> craditHistoryList = history.returnList().stream().filter(ack -> ack.getTypeOperation() == TypeOperation.DELETE_CREDIT).collect(Collectors.toList());
+        List<Ack> craditHistoryList = new ArrayList<>(history.returnList(CREDIT_TYPES));
         return craditHistoryList;
     }
 
@@ -83,7 +92,10 @@ public class Reporting {
      * @return list of reports after date
      */
     public List<Ack> createAfterDateReports(LocalDate localDate) {
-        List<Ack> afterDateHistoryList = history.returnList().stream().filter(ack -> ack.getLocalDate().isAfter(localDate)).collect(Collectors.toList());
+        if (localDate.equals(LocalDate.MAX)) {
+            return new ArrayList<>();
+        }
+        List<Ack> afterDateHistoryList = new ArrayList<>(history.returnListBetween(localDate.plusDays(1), null));
         return afterDateHistoryList;
     }
 
@@ -94,7 +106,21 @@ public class Reporting {
      * @return list of reports before date
      */
     public List<Ack> createBeforeDateReports(LocalDate localDate) {
-        List<Ack> beforeDateHistoryList = history.returnList().stream().filter(ack -> ack.getLocalDate().isBefore(localDate)).collect(Collectors.toList());
+        if (localDate.equals(LocalDate.MIN)) {
+            return new ArrayList<>();
+        }
+        List<Ack> beforeDateHistoryList = new ArrayList<>(history.returnListBetween(null, localDate.minusDays(1)));
         return beforeDateHistoryList;
     }
-}
\ No newline at end of file
+
+    /**
+     * Getting history between dates
+     *
+     * @param from first date of reporting, inclusive
+     * @param to   last date of reporting, inclusive
+     * @return list of reports between dates
+     */
+    public List<Ack> createBetweenDatesReports(LocalDate from, LocalDate to) {
+        return new ArrayList<>(history.returnListBetween(from, to));
+    }
+}
@@ -0,0 +1,70 @@
+package bank;
+
+import java.util.Collections;
+import java.util.Map;
+
+/**
+ * Summary of settled session - net position of every bank after multilateral netting and net positions between
+ * pairs of banks
+ */
+public class SettlementResult {
+    private final long sessionId;
+    private final int settledPackages;
+    private final Map<Integer, Long> netPositions;
+    private final BilateralNetting bilateralPositions;
+
+    public SettlementResult(long sessionId, int settledPackages, Map<Integer, Long> netPositions, BilateralNetting bilateralPositions) {
+        this.sessionId = sessionId;
+        this.settledPackages = settledPackages;
+        this.netPositions = Collections.unmodifiableMap(netPositions);
+        this.bilateralPositions = bilateralPositions;
+    }
+
+    /**
+     * Getter
+     *
+     * @return number of session
+     */
+    public long getSessionId() {
+        return sessionId;
+    }
+
+    /**
+     * Getter
+     *
+     * @return number of packages delivered in session
+     */
+    public int getSettledPackages() {
+        return settledPackages;
+    }
+
+    /**
+     * Getter
+     *
+     * @return net positions in grosze by bank id, positive if bank receives money
+     */
+    public Map<Integer, Long> getNetPositions() {
+        return netPositions;
+    }
+
+    /**
+     * Getting net position of bank
+     *
+     * @param bankId unique bank id
+     * @return amount in grosze bank receives, negative if it pays, 0 if it had no packages in session
+     */
+    public long getNetPosition(int bankId) {
+        return netPositions.getOrDefault(bankId, 0L);
+    }
+
+    /**
+     * Getting net amount one bank owes another in the session
+     *
+     * @param bankId         bank
+     * @param counterpartyId other bank
+     * @return amount in grosze, negative if other bank owes this one
+     */
+    public long getNetPosition(int bankId, int counterpartyId) {
+        return bilateralPositions.getNetPosition(bankId, counterpartyId);
+    }
+}
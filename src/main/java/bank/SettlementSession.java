@@ -0,0 +1,46 @@
+package bank;
+
+import messages.PackageToAnotherBank;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.ConcurrentLinkedQueue;
+
+/**
+ * Packages between banks collected until cut-off of the session. Packages can be added by many threads at once.
+ */
+public class SettlementSession {
+    private final long id;
+    private final ConcurrentLinkedQueue<PackageToAnotherBank> packages = new ConcurrentLinkedQueue<>();
+
+    public SettlementSession(long id) {
+        this.id = id;
+    }
+
+    /**
+     * Getter
+     *
+     * @return number of session
+     */
+    public long getId() {
+        return id;
+    }
+
+    /**
+     * Adding packages to the session
+     *
+     * @param listOfPackages packages to settle
+     */
+    public void addAll(List<PackageToAnotherBank> listOfPackages) {
+        packages.addAll(listOfPackages);
+    }
+
+    /**
+     * Getter
+     *
+     * @return packages of the session in order of adding
+     */
+    public List<PackageToAnotherBank> getPackages() {
+        return new ArrayList<>(packages);
+    }
+}
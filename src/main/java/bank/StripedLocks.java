@@ -0,0 +1,86 @@
+package bank;
+
+import java.util.concurrent.locks.ReentrantLock;
+
+/**
+ * Fixed set of locks shared by accounts. Account id selects the stripe, so memory does not grow with number of accounts
+ * and operations on different accounts usually take different locks.
+ * <p>
+ * Two locks are always taken in ascending stripe order, so two transfers in opposite directions cannot deadlock.
+ */
+public class StripedLocks {
+    private final ReentrantLock[] stripes;
+    private final int mask;
+
+    /**
+     * Constructor
+     *
+     * @param minStripes minimal number of stripes, rounded up to power of two
+     */
+    public StripedLocks(int minStripes) {
+        int size = 1;
+        while (size < minStripes) {
+            size <<= 1;
+        }
+        stripes = new ReentrantLock[size];
+        for (int i = 0; i < size; i++) {
+            stripes[i] = new ReentrantLock();
+        }
+        mask = size - 1;
+    }
+
+    private int stripe(int id) {
+        int hash = id * 0x9E3779B9;
+        return (hash ^ (hash >>> 16)) & mask;
+    }
+
+    /**
+     * Locking stripe of one account
+     *
+     * @param id account id
+     */
+    public void lock(int id) {
+        stripes[stripe(id)].lock();
+    }
+
+    /**
+     * Unlocking stripe of one account
+     *
+     * @param id account id
+     */
+    public void unlock(int id) {
+        stripes[stripe(id)].unlock();
+    }
+
+    /**
+     * Locking stripes of two accounts in deadlock-free order
+     *
+     * @param firstId  first account id
+     * @param secondId second account id
+     */
+    public void lock(int firstId, int secondId) {
+        int first = stripe(firstId);
+        int second = stripe(secondId);
+        if (first == second) {
+            stripes[first].lock();
+        } else {
+            stripes[Math.min(first, second)].lock();
+            stripes[Math.max(first, second)].lock();
+        }
+    }
+
+    /**
+     * Unlocking stripes of two accounts locked by {@link #lock(int, int)}
+     *
+     * @param firstId  first account id
+     * @param secondId second account id
+     */
+    public void unlock(int firstId, int secondId) {
+        int first = stripe(firstId);
+        int second = stripe(secondId);
+        stripes[first].unlock();
+        if (first != second) {
+            stripes[second].unlock();
+        }
+    }
+}
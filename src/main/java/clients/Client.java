@@ -3,10 +3,13 @@ package clients;
 import services.IdGenerator;
 
 public class Client {
+    public static final int PESEL_LENGTH = 11;
+
     private String firstName;
     private String lastName;
     private String pesel;
-    // TODO - change to long to extend range
+    // TODO - change to long to extend range. Not done yet: ids are int in the whole bank API and indexes, so range
+    // is still 2^31 - IdGenerator narrows its long ids and throws ArithmeticException when it runs out
     private int id;
 
     /**
@@ -73,10 +76,30 @@ public class Client {
 
     /**
      * Setter
-     * @param pesel client's pesel
+     * @param pesel client's pesel, must have 11 digits
      */
     public void setPesel(String pesel) {
-        this.pesel = pesel;
+        this.pesel = checkPesel(pesel);
+    }
+
+    /**
+     * Checking that pesel has 11 digits
+     *
+     * @param pesel client's pesel
+     * @return the same pesel
+     * @throws IllegalArgumentException if pesel is null or is not 11 digits
+     */
+    private static String checkPesel(String pesel) {
+        if (pesel == null || pesel.length() != PESEL_LENGTH) {
+            throw new IllegalArgumentException("Pesel must have " + PESEL_LENGTH + " digits");
+        }
+        for (int i = 0; i < PESEL_LENGTH; i++) {
+            char digit = pesel.charAt(i);
+            if (digit < '0' || digit > '9') {
+                throw new IllegalArgumentException("Pesel must have " + PESEL_LENGTH + " digits");
+            }
+        }
+        return pesel;
     }
 
     /**
@@ -86,13 +109,14 @@ public class Client {
      *
      * @param firstName
      * @param lastName
+     * @param pesel     client's pesel, must have 11 digits
+     * @throws IllegalArgumentException if pesel is not 11 digits
      */
     public Client(String firstName, String lastName, String pesel) {
         this.id = IdGenerator.generateClientId();
         this.firstName = firstName;
         this.lastName = lastName;
-        //TODO - liczba znaków pesel
-        this.pesel = pesel;
+        this.pesel = checkPesel(pesel);
     }
 
     /**
@@ -0,0 +1,16 @@
+package history;
+
+import messages.Ack;
+
+/**
+ * Fixed size part of {@link SegmentedHistoryStore}
+ */
+interface AckSegment {
+    /**
+     * Getting ACK
+     *
+     * @param index index of ACK inside segment
+     * @return ACK
+     */
+    Ack get(int index);
+}
@@ -0,0 +1,258 @@
+package history;
+
+import messages.Ack;
+import messages.AckTemplate;
+import messages.BankAck;
+import messages.Description;
+import messages.TypeOperation;
+
+import java.time.LocalDate;
+
+/**
+ * Full segment stored in columns of primitives: product ids and client id as int, type of operation as byte ordinal
+ * and date as epoch day. It takes about 20 bytes per ACK plus description, instead of ACK object with boxed ids.
+ * <p>
+ * Description is kept as template ordinal and its arguments in columns: numbers and dates as long, text as string,
+ * objects printed by {@link Object#toString()} as their class and hash code. Segment does not keep references to
+ * products and clients, so deleted ones are not kept alive by the history. Description is built again on read and
+ * gives the same text.
+ * <p>
+ * ACK objects are materialized on every read, so they are snapshots - changing them does not change the history.
+ */
+class CompactAckSegment implements AckSegment {
+    static final int NULL_INT = Integer.MIN_VALUE;
+    private static final byte NULL_TYPE = -1;
+    private static final byte KIND_ACK = 0;
+    private static final byte KIND_BANK_ACK = 1;
+    private static final TypeOperation[] TYPES = TypeOperation.values();
+    private static final AckTemplate[] TEMPLATES = AckTemplate.values();
+    // description without template
+    private static final short NULL_DESCRIPTION = -1;
+    private static final short PLAIN_DESCRIPTION = -2;
+    // kinds of description arguments
+    private static final byte ARG_NULL = 0;
+    private static final byte ARG_INT = 1;
+    private static final byte ARG_LONG = 2;
+    private static final byte ARG_DOUBLE = 3;
+    private static final byte ARG_DATE = 4;
+    private static final byte ARG_STRING = 5;
+    private static final byte ARG_IDENTITY = 6;
+    private static final ClassValue<Boolean> DEFAULT_TO_STRING = new ClassValue<Boolean>() {
+        @Override
+        protected Boolean computeValue(Class<?> type) {
+            try {
+                return type.getMethod("toString").getDeclaringClass() == Object.class;
+            } catch (NoSuchMethodException e) {
+                return false;
+            }
+        }
+    };
+
+    private final int[] product1;
+    private final int[] product2;
+    private final int[] clientId;
+    private final int[] epochDay;
+    private final byte[] typeOperation;
+    private final byte[] kind;
+    private final short[] template;
+    // arguments of ACK i are at positions argStart[i] to argStart[i + 1] of argument columns
+    private final int[] argStart;
+    private final byte[] argKind;
+    private final long[] argValue;
+    private final Object[] argReference; // strings and classes only
+    private final boolean encoded;
+
+    // columns are filled inside constructor, so final fields publish them safely to lock-free readers
+    private CompactAckSegment(Ack[] acks) {
+        int size = acks.length;
+        product1 = new int[size];
+        product2 = new int[size];
+        clientId = new int[size];
+        epochDay = new int[size];
+        typeOperation = new byte[size];
+        kind = new byte[size];
+        template = new short[size];
+        argStart = new int[size + 1];
+        int arguments = 0;
+        for (Ack ack : acks) {
+            arguments += ack == null ? 0 : argumentsNumber(ack.getDescriptionSequence());
+        }
+        argKind = new byte[arguments];
+        argValue = new long[arguments];
+        argReference = new Object[arguments];
+        boolean allEncoded = true;
+        for (int i = 0; i < size && allEncoded; i++) {
+            allEncoded = encode(i, acks[i]);
+        }
+        encoded = allEncoded;
+    }
+
+    private static int argumentsNumber(CharSequence description) {
+        if (description instanceof Description) {
+            return ((Description) description).getArgumentsNumber();
+        }
+        return description == null ? 0 : 1;
+    }
+
+    /**
+     * Encoding ACKs in columns
+     *
+     * @param acks ACKs to encode
+     * @return compact segment or null if some ACK cannot be encoded, e.g. it is unknown subclass of ACK
+     */
+    static CompactAckSegment compact(Ack[] acks) {
+        CompactAckSegment segment = new CompactAckSegment(acks);
+        return segment.encoded ? segment : null;
+    }
+
+    private boolean encode(int index, Ack ack) {
+        if (ack == null || !encodable(ack.getProduct1()) || !encodable(ack.getProduct2())) {
+            return false;
+        }
+        if (ack.getClass() == BankAck.class) {
+            if (!encodable(((BankAck) ack).getClientId())) {
+                return false;
+            }
+            kind[index] = KIND_BANK_ACK;
+            clientId[index] = encodeInt(((BankAck) ack).getClientId());
+        } else if (ack.getClass() == Ack.class) {
+            kind[index] = KIND_ACK;
+            clientId[index] = NULL_INT;
+        } else {
+            return false;
+        }
+        product1[index] = encodeInt(ack.getProduct1());
+        product2[index] = encodeInt(ack.getProduct2());
+        typeOperation[index] = ack.getTypeOperation() == null ? NULL_TYPE : (byte) ack.getTypeOperation().ordinal();
+        if (ack.getLocalDate() == null) {
+            epochDay[index] = NULL_INT;
+        } else {
+            long day = ack.getLocalDate().toEpochDay();
+            if (day <= NULL_INT || day > Integer.MAX_VALUE) {
+                return false;
+            }
+            epochDay[index] = (int) day;
+        }
+        encodeDescription(index, ack.getDescriptionSequence());
+        return true;
+    }
+
+    private void encodeDescription(int index, CharSequence description) {
+        int position = argStart[index];
+        if (description instanceof Description) {
+            Description lazy = (Description) description;
+            template[index] = (short) lazy.getTemplate().ordinal();
+            for (int i = 0; i < lazy.getArgumentsNumber(); i++) {
+                encodeArgument(position++, lazy.getArgument(i));
+            }
+        } else if (description == null) {
+            template[index] = NULL_DESCRIPTION;
+        } else {
+            template[index] = PLAIN_DESCRIPTION;
+            encodeArgument(position++, description.toString());
+        }
+        argStart[index + 1] = position;
+    }
+
+    private void encodeArgument(int position, Object argument) {
+        if (argument == null) {
+            argKind[position] = ARG_NULL;
+        } else if (argument instanceof Integer) {
+            argKind[position] = ARG_INT;
+            argValue[position] = (Integer) argument;
+        } else if (argument instanceof Long) {
+            argKind[position] = ARG_LONG;
+            argValue[position] = (Long) argument;
+        } else if (argument instanceof Double) {
+            argKind[position] = ARG_DOUBLE;
+            argValue[position] = Double.doubleToRawLongBits((Double) argument);
+        } else if (argument instanceof LocalDate) {
+            argKind[position] = ARG_DATE;
+            argValue[position] = ((LocalDate) argument).toEpochDay();
+        } else if (DEFAULT_TO_STRING.get(argument.getClass())) {
+            // prints as class name and hash code, e.g. products and clients
+            argKind[position] = ARG_IDENTITY;
+            argValue[position] = argument.hashCode();
+            argReference[position] = argument.getClass();
+        } else {
+            argKind[position] = ARG_STRING;
+            argReference[position] = argument.toString();
+        }
+    }
+
+    private Object decodeArgument(int position) {
+        switch (argKind[position]) {
+            case ARG_INT:
+                return (int) argValue[position];
+            case ARG_LONG:
+                return argValue[position];
+            case ARG_DOUBLE:
+                return Double.longBitsToDouble(argValue[position]);
+            case ARG_DATE:
+                return LocalDate.ofEpochDay(argValue[position]);
+            case ARG_STRING:
+                return argReference[position];
+            case ARG_IDENTITY:
+                return new IdentityText((Class<?>) argReference[position], (int) argValue[position]);
+            default:
+                return null;
+        }
+    }
+
+    private CharSequence decodeDescription(int index) {
+        int from = argStart[index];
+        if (template[index] == NULL_DESCRIPTION) {
+            return null;
+        }
+        if (template[index] == PLAIN_DESCRIPTION) {
+            return (String) argReference[from];
+        }
+        Object[] args = new Object[argStart[index + 1] - from];
+        for (int i = 0; i < args.length; i++) {
+            args[i] = decodeArgument(from + i);
+        }
+        return Description.of(TEMPLATES[template[index]], args);
+    }
+
+    /**
+     * Argument printed like {@link Object#toString()} of object which is not kept
+     */
+    private static final class IdentityText {
+        private final Class<?> type;
+        private final int hash;
+
+        IdentityText(Class<?> type, int hash) {
+            this.type = type;
+            this.hash = hash;
+        }
+
+        @Override
+        public String toString() {
+            return type.getName() + "@" + Integer.toHexString(hash);
+        }
+    }
+
+    private static boolean encodable(Integer value) {
+        return value == null || value != NULL_INT;
+    }
+
+    private static int encodeInt(Integer value) {
+        return value == null ? NULL_INT : value;
+    }
+
+    private static Integer decodeInt(int value) {
+        return value == NULL_INT ? null : value;
+    }
+
+    @Override
+    public Ack get(int index) {
+        Integer firstProduct = decodeInt(product1[index]);
+        Integer secondProduct = decodeInt(product2[index]);
+        TypeOperation type = typeOperation[index] == NULL_TYPE ? null : TYPES[typeOperation[index]];
+        LocalDate date = epochDay[index] == NULL_INT ? null : LocalDate.ofEpochDay(epochDay[index]);
+        if (kind[index] == KIND_BANK_ACK) {
+            return new BankAck(firstProduct, secondProduct, decodeInt(clientId[index]), type, date, decodeDescription(index));
+        }
+        return new Ack(firstProduct, secondProduct, type, date, decodeDescription(index));
+    }
+}
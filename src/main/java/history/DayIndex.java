@@ -0,0 +1,105 @@
+package history;
+
+import messages.Ack;
+
+import java.time.LocalDate;
+import java.util.Arrays;
+
+/**
+ * Index of the log by date. History is appended in time order, so for every day only position of its first ACK is
+ * kept and range of dates maps to range of positions found by binary search.
+ * <p>
+ * ACK with date earlier than the newest one seen (or without date) does not fit this order - its position is kept
+ * separately and checked one by one. There should be few of them.
+ * <p>
+ * Days are appended under lock of the store, day is written before number of days is published.
+ */
+class DayIndex {
+    private int[] days = new int[8];
+    private int[] firstPositions = new int[8];
+    private volatile int size;
+    private long lastDay = Long.MIN_VALUE;
+    private final PositionList outOfOrder = new PositionList();
+
+    void add(int position, LocalDate date) {
+        long day = date == null ? Long.MIN_VALUE : date.toEpochDay();
+        if (date == null || day < lastDay || day < Integer.MIN_VALUE || day > Integer.MAX_VALUE) {
+            outOfOrder.add(position);
+            return;
+        }
+        if (day > lastDay) {
+            int index = size;
+            if (index == days.length) {
+                days = Arrays.copyOf(days, index * 2);
+                firstPositions = Arrays.copyOf(firstPositions, index * 2);
+            }
+            days[index] = (int) day;
+            firstPositions[index] = position;
+            lastDay = day;
+            size = index + 1;
+        }
+    }
+
+    /**
+     * Finding positions of ACKs with date in range
+     *
+     * @param fromDay  first epoch day, inclusive
+     * @param toDay    last epoch day, inclusive
+     * @param limit    size of the log seen by reader
+     * @param segments segments of the log seen by reader, used to check dates of ACKs out of order
+     * @return ascending positions
+     */
+    int[] positionsBetween(long fromDay, long toDay, int limit, AckSegment[] segments) {
+        int count = size;
+        int[] currentDays = days;
+        int[] currentFirstPositions = firstPositions;
+        int from = lowerBound(currentDays, count, fromDay);
+        int to = toDay == Long.MAX_VALUE ? count : lowerBound(currentDays, count, toDay + 1);
+        int start = Math.min(from < count ? currentFirstPositions[from] : limit, limit);
+        int end = Math.min(to < count ? currentFirstPositions[to] : limit, limit);
+
+        int[] others = outOfOrder.snapshot(limit);
+        int[] result = new int[Math.max(0, end - start) + others.length];
+        int resultSize = 0;
+        int other = 0;
+        for (int position = start; position < end; position++) {
+            while (other < others.length && others[other] < position) {
+                resultSize = addIfBetween(result, resultSize, others[other++], fromDay, toDay, segments);
+            }
+            if (other < others.length && others[other] == position) {
+                resultSize = addIfBetween(result, resultSize, others[other++], fromDay, toDay, segments);
+            } else {
+                result[resultSize++] = position;
+            }
+        }
+        while (other < others.length) {
+            resultSize = addIfBetween(result, resultSize, others[other++], fromDay, toDay, segments);
+        }
+        return Arrays.copyOf(result, resultSize);
+    }
+
+    private static int addIfBetween(int[] result, int resultSize, int position, long fromDay, long toDay, AckSegment[] segments) {
+        Ack ack = SegmentedHistoryStore.get(segments, position);
+        if (ack != null && ack.getLocalDate() != null) {
+            long day = ack.getLocalDate().toEpochDay();
+            if (day >= fromDay && day <= toDay) {
+                result[resultSize++] = position;
+            }
+        }
+        return resultSize;
+    }
+
+    private static int lowerBound(int[] values, int count, long key) {
+        int low = 0;
+        int high = count;
+        while (low < high) {
+            int middle = (low + high) >>> 1;
+            if (values[middle] < key) {
+                low = middle + 1;
+            } else {
+                high = middle;
+            }
+        }
+        return low;
+    }
+}
@@ -2,15 +2,74 @@ package history;
 
 
 import messages.Ack;
+import messages.TypeOperation;
 
-import java.util.ArrayList;
+import java.time.LocalDate;
 import java.util.List;
+import java.util.Set;
 
+/**
+ * History can be appended by many threads.
+ * <p>
+ * History created by {@link #History()} keeps every ACK in segmented log - it is used as bank-wide log. History of
+ * an account keeps only the newest ACKs in ring buffer of configurable window ({@link #forAccount()}), so memory
+ * does not grow with age of the account.
+ */
 public class History {
-    List<Ack> historyList;
+    public static final int DEFAULT_ACCOUNT_WINDOW = 1024;
 
+    private static volatile int accountWindow = DEFAULT_ACCOUNT_WINDOW;
+
+    private final HistoryStore store;
+
+    /**
+     * Creating unbounded history
+     */
     public History() {
-        historyList = new ArrayList<Ack>();
+        this(new SegmentedHistoryStore());
+    }
+
+    /**
+     * Creating history keeping only the newest ACKs
+     *
+     * @param window max number of ACKs kept
+     */
+    public History(int window) {
+        this(new RingHistoryStore(window));
+    }
+
+    History(HistoryStore store) {
+        this.store = store;
+    }
+
+    /**
+     * Creating history of one account, bounded by current account window
+     *
+     * @return new history
+     */
+    public static History forAccount() {
+        return new History(accountWindow);
+    }
+
+    /**
+     * Getter
+     *
+     * @return max number of ACKs kept in history of account
+     */
+    public static int getAccountWindow() {
+        return accountWindow;
+    }
+
+    /**
+     * Setter, affects histories created afterwards
+     *
+     * @param window max number of ACKs kept in history of account
+     */
+    public static void setAccountWindow(int window) {
+        if (window < 1) {
+            throw new IllegalArgumentException("History window must be positive");
+        }
+        accountWindow = window;
     }
 
     /**
@@ -20,18 +79,60 @@ public class History {
      * @return true if operation succeeded
      */
     public boolean add(Ack obj) {
-        return historyList.add(obj);
+        return store.add(obj);
+    }
+
+    /**
+     * adding many ACKs at once, e.g. results of batch job
+     *
+     * @param acks ACKs in order of operations
+     * @return true if operation succeeded
+     */
+    public boolean addAll(List<Ack> acks) {
+        return store.addAll(acks);
     }
 
     /**
-     * return list of ACKs
-     * <p>
-     * TODO return non-editable version of list
+     * return read-only view of ACKs, oldest first
      *
      * @return list of ACKs
      */
     public List<Ack> returnList() {
-        return historyList;
+        return store.view();
+    }
+
+    /**
+     * return read-only view of ACKs of given types, oldest first. Unbounded history answers from index of types, in
+     * time proportional to number of returned ACKs.
+     *
+     * @param types types of operation
+     * @return list of ACKs
+     */
+    public List<Ack> returnList(Set<TypeOperation> types) {
+        return store.viewOf(types);
+    }
+
+    /**
+     * return read-only view of ACKs with date in range, oldest first. Unbounded history answers from index of dates,
+     * in logarithmic time plus number of returned ACKs.
+     *
+     * @param from first date, inclusive, null means no lower bound
+     * @param to   last date, inclusive, null means no upper bound
+     * @return list of ACKs
+     */
+    public List<Ack> returnListBetween(LocalDate from, LocalDate to) {
+        long fromDay = from == null ? Long.MIN_VALUE : from.toEpochDay();
+        long toDay = to == null ? Long.MAX_VALUE : to.toEpochDay();
+        return store.viewBetween(fromDay, toDay);
+    }
+
+    /**
+     * Getter
+     *
+     * @return number of ACKs kept in history
+     */
+    public int size() {
+        return store.size();
     }
 
-}
\ No newline at end of file
+}
@@ -0,0 +1,73 @@
+package history;
+
+import messages.Ack;
+import messages.TypeOperation;
+
+import java.util.Collections;
+import java.util.List;
+import java.util.Set;
+import java.util.stream.Collectors;
+
+/**
+ * Storage of ACKs behind {@link History}
+ */
+interface HistoryStore {
+    /**
+     * Appending ACK
+     *
+     * @param ack ACK
+     * @return true if operation succeeded
+     */
+    boolean add(Ack ack);
+
+    /**
+     * Appending many ACKs at once
+     *
+     * @param acks ACKs
+     * @return true if operation succeeded
+     */
+    default boolean addAll(List<Ack> acks) {
+        for (Ack ack : acks) {
+            add(ack);
+        }
+        return true;
+    }
+
+    /**
+     * Getter
+     *
+     * @return number of ACKs kept in store
+     */
+    int size();
+
+    /**
+     * Read-only view of ACKs kept in store, oldest first
+     *
+     * @return list of ACKs
+     */
+    List<Ack> view();
+
+    /**
+     * Read-only view of ACKs of given types kept in store, oldest first
+     *
+     * @param types types of operation
+     * @return list of ACKs
+     */
+    default List<Ack> viewOf(Set<TypeOperation> types) {
+        return Collections.unmodifiableList(view().stream().filter(ack -> types.contains(ack.getTypeOperation())).collect(Collectors.toList()));
+    }
+
+    /**
+     * Read-only view of ACKs with date in range, oldest first
+     *
+     * @param fromDay first epoch day, inclusive
+     * @param toDay   last epoch day, inclusive
+     * @return list of ACKs
+     */
+    default List<Ack> viewBetween(long fromDay, long toDay) {
+        return Collections.unmodifiableList(view().stream()
+                .filter(ack -> ack.getLocalDate() != null)
+                .filter(ack -> ack.getLocalDate().toEpochDay() >= fromDay && ack.getLocalDate().toEpochDay() <= toDay)
+                .collect(Collectors.toList()));
+    }
+}
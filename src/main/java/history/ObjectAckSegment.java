@@ -0,0 +1,19 @@
+package history;
+
+import messages.Ack;
+
+/**
+ * Segment being filled - it keeps ACK objects as they were added
+ */
+class ObjectAckSegment implements AckSegment {
+    final Ack[] acks;
+
+    ObjectAckSegment(int size) {
+        acks = new Ack[size];
+    }
+
+    @Override
+    public Ack get(int index) {
+        return acks[index];
+    }
+}
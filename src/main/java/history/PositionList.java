@@ -0,0 +1,36 @@
+package history;
+
+import java.util.Arrays;
+
+/**
+ * Growing list of ascending positions in the log. It is appended under lock of the store and read without locks:
+ * position is written before size is published.
+ */
+class PositionList {
+    private int[] positions = new int[8];
+    private volatile int size;
+
+    void add(int position) {
+        int index = size;
+        if (index == positions.length) {
+            positions = Arrays.copyOf(positions, index * 2);
+        }
+        positions[index] = position;
+        size = index + 1;
+    }
+
+    /**
+     * Copying positions lower than limit
+     *
+     * @param limit size of the log seen by reader
+     * @return ascending positions
+     */
+    int[] snapshot(int limit) {
+        int count = size;
+        int[] current = positions;
+        while (count > 0 && current[count - 1] >= limit) {
+            count--;
+        }
+        return Arrays.copyOf(current, count);
+    }
+}
@@ -0,0 +1,67 @@
+package history;
+
+import messages.Ack;
+
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.List;
+
+/**
+ * Bounded store keeping only the newest ACKs. Buffer grows with history up to the window and then the oldest ACK
+ * is overwritten, so account with short history does not pay for whole window.
+ */
+class RingHistoryStore implements HistoryStore {
+    private static final int INITIAL_CAPACITY = 8;
+
+    private final int window;
+    private Ack[] buffer;
+    private int head; // index of the oldest ACK once buffer is full
+    private int size;
+    private long dropped;
+
+    RingHistoryStore(int window) {
+        if (window < 1) {
+            throw new IllegalArgumentException("History window must be positive");
+        }
+        this.window = window;
+        this.buffer = new Ack[Math.min(window, INITIAL_CAPACITY)];
+    }
+
+    @Override
+    public synchronized boolean add(Ack ack) {
+        if (size < window) {
+            if (size == buffer.length) {
+                buffer = Arrays.copyOf(buffer, (int) Math.min(window, 2L * buffer.length));
+            }
+            buffer[size++] = ack;
+        } else {
+            buffer[head] = ack;
+            head = head + 1 == window ? 0 : head + 1;
+            dropped++;
+        }
+        return true;
+    }
+
+    @Override
+    public synchronized int size() {
+        return size;
+    }
+
+    @Override
+    public synchronized List<Ack> view() {
+        Ack[] copy = new Ack[size];
+        int tail = size - head;
+        System.arraycopy(buffer, head, copy, 0, tail);
+        System.arraycopy(buffer, 0, copy, tail, head);
+        return Collections.unmodifiableList(Arrays.asList(copy));
+    }
+
+    /**
+     * Getter
+     *
+     * @return number of ACKs pushed out of the window
+     */
+    synchronized long getDropped() {
+        return dropped;
+    }
+}
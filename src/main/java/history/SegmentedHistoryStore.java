@@ -0,0 +1,177 @@
+package history;
+
+import messages.Ack;
+import messages.TypeOperation;
+
+import java.util.AbstractList;
+import java.util.Arrays;
+import java.util.EnumMap;
+import java.util.List;
+import java.util.Map;
+import java.util.RandomAccess;
+import java.util.Set;
+
+/**
+ * Unbounded append-only log split into fixed size segments. Full segment is never copied again - growing the log only
+ * copies directory of segments, not the ACKs. Full segment is encoded into {@link CompactAckSegment}, only the segment
+ * being filled keeps ACK objects.
+ * <p>
+ * Appending is synchronized. Reading is lock-free: slot is written before size is published, and written slot never
+ * changes (compact segment holds the same values), so view with captured size is a stable snapshot.
+ * <p>
+ * Positions of ACKs are indexed by type of operation when they are appended, so ACKs of given types are found in time
+ * proportional to their number, not to the size of the log. Positions are also indexed by date ({@link DayIndex}).
+ */
+class SegmentedHistoryStore implements HistoryStore {
+    static final int SEGMENT_SHIFT = 10;
+    static final int SEGMENT_SIZE = 1 << SEGMENT_SHIFT;
+    private static final int SEGMENT_MASK = SEGMENT_SIZE - 1;
+
+    private AckSegment[] segments = new AckSegment[4];
+    private ObjectAckSegment current;
+    private final Map<TypeOperation, PositionList> typeIndex = new EnumMap<>(TypeOperation.class);
+    private final DayIndex dayIndex = new DayIndex();
+    private volatile int size;
+
+    SegmentedHistoryStore() {
+        for (TypeOperation typeOperation : TypeOperation.values()) {
+            typeIndex.put(typeOperation, new PositionList());
+        }
+    }
+
+    @Override
+    public synchronized boolean add(Ack ack) {
+        int index = size;
+        int segment = index >>> SEGMENT_SHIFT;
+        if (segment == segments.length) {
+            segments = Arrays.copyOf(segments, segments.length * 2);
+        }
+        if (segments[segment] == null) {
+            current = new ObjectAckSegment(SEGMENT_SIZE);
+            segments[segment] = current;
+        }
+        current.acks[index & SEGMENT_MASK] = ack;
+        if (ack != null && ack.getTypeOperation() != null) {
+            typeIndex.get(ack.getTypeOperation()).add(index);
+        }
+        dayIndex.add(index, ack == null ? null : ack.getLocalDate());
+        size = index + 1;
+        if ((index & SEGMENT_MASK) == SEGMENT_MASK) {
+            CompactAckSegment compact = CompactAckSegment.compact(current.acks);
+            if (compact != null) {
+                segments[segment] = compact;
+            }
+            current = null;
+        }
+        return true;
+    }
+
+    @Override
+    public synchronized boolean addAll(List<Ack> acks) {
+        // one lock for whole batch, add() only re-enters it
+        for (Ack ack : acks) {
+            add(ack);
+        }
+        return true;
+    }
+
+    @Override
+    public int size() {
+        return size;
+    }
+
+    @Override
+    public List<Ack> view() {
+        int currentSize = size;
+        return new SegmentView(segments, currentSize);
+    }
+
+    @Override
+    public List<Ack> viewOf(Set<TypeOperation> types) {
+        int currentSize = size;
+        AckSegment[] currentSegments = segments;
+        int[] positions = null;
+        for (TypeOperation typeOperation : types) {
+            int[] typePositions = typeIndex.get(typeOperation).snapshot(currentSize);
+            positions = positions == null ? typePositions : merge(positions, typePositions);
+        }
+        return new PositionView(currentSegments, positions == null ? new int[0] : positions);
+    }
+
+    @Override
+    public List<Ack> viewBetween(long fromDay, long toDay) {
+        int currentSize = size;
+        AckSegment[] currentSegments = segments;
+        return new PositionView(currentSegments, dayIndex.positionsBetween(fromDay, toDay, currentSize, currentSegments));
+    }
+
+    private static int[] merge(int[] first, int[] second) {
+        int[] merged = new int[first.length + second.length];
+        int i = 0;
+        int j = 0;
+        int k = 0;
+        while (i < first.length && j < second.length) {
+            merged[k++] = first[i] < second[j] ? first[i++] : second[j++];
+        }
+        while (i < first.length) {
+            merged[k++] = first[i++];
+        }
+        while (j < second.length) {
+            merged[k++] = second[j++];
+        }
+        return merged;
+    }
+
+    static Ack get(AckSegment[] segments, int index) {
+        return segments[index >>> SEGMENT_SHIFT].get(index & SEGMENT_MASK);
+    }
+
+    /**
+     * Snapshot of first ACKs of the log
+     */
+    private static class SegmentView extends AbstractList<Ack> implements RandomAccess {
+        private final AckSegment[] segments;
+        private final int size;
+
+        SegmentView(AckSegment[] segments, int size) {
+            this.segments = segments;
+            this.size = size;
+        }
+
+        @Override
+        public Ack get(int index) {
+            if (index < 0 || index >= size) {
+                throw new IndexOutOfBoundsException("Index: " + index + ", Size: " + size);
+            }
+            return SegmentedHistoryStore.get(segments, index);
+        }
+
+        @Override
+        public int size() {
+            return size;
+        }
+    }
+
+    /**
+     * ACKs of the log at given positions
+     */
+    private static class PositionView extends AbstractList<Ack> implements RandomAccess {
+        private final AckSegment[] segments;
+        private final int[] positions;
+
+        PositionView(AckSegment[] segments, int[] positions) {
+            this.segments = segments;
+            this.positions = positions;
+        }
+
+        @Override
+        public Ack get(int index) {
+            return SegmentedHistoryStore.get(segments, positions[index]);
+        }
+
+        @Override
+        public int size() {
+            return positions.length;
+        }
+    }
+}
@@ -0,0 +1,208 @@
+package indexes;
+
+import java.util.Arrays;
+
+/**
+ * Hash map with primitive long keys, counterpart of {@link IntHashMap} for keys wider than int (e.g. PESEL numbers).
+ * Probing and backshift removal mirror {@link IntHashMap} line for line (only the key type and hash differ), keep both
+ * classes in sync.
+ * <p>
+ * Open addressing with linear probing, removal shifts following entries back, so there are no tombstones.
+ * Values cannot be null - null slot means free slot.
+ * <p>
+ * Map is not thread safe, but {@link #get(long)} never fails or loops when it races with a writer - it may only return
+ * wrong result. It allows optimistic reads, which are validated afterwards (e.g. with StampedLock).
+ *
+ * @param <V> type of stored values
+ */
+public class LongHashMap<V> {
+    private static final int DEFAULT_CAPACITY = 16;
+
+    private long[] keys;
+    private Object[] values;
+    private int size;
+    private int mask;
+    private int resizeThreshold;
+
+    public LongHashMap() {
+        this(DEFAULT_CAPACITY);
+    }
+
+    /**
+     * Constructor
+     *
+     * @param expectedSize number of entries map should hold without resizing
+     */
+    public LongHashMap(int expectedSize) {
+        int capacity = DEFAULT_CAPACITY;
+        while (capacity * 3 / 4 < expectedSize) {
+            capacity <<= 1;
+        }
+        allocate(capacity);
+    }
+
+    private void allocate(int capacity) {
+        keys = new long[capacity];
+        values = new Object[capacity];
+        mask = capacity - 1;
+        resizeThreshold = capacity * 3 / 4;
+    }
+
+    /**
+     * Spreading key bits over the whole table (fibonacci hashing)
+     *
+     * @param key key
+     * @param mask table size - 1
+     * @return slot index
+     */
+    private static int slot(long key, int mask) {
+        long hash = key * 0x9E3779B97F4A7C15L;
+        return (int) (hash ^ (hash >>> 32)) & mask;
+    }
+
+    /**
+     * Getting value stored under key
+     *
+     * @param key key
+     * @return value or null if there is no such key
+     */
+    @SuppressWarnings("unchecked")
+    public V get(long key) {
+        long[] keys = this.keys;
+        Object[] values = this.values;
+        // capacity always doubles, so arrays of different length come from racing rehash
+        if (keys.length != values.length) {
+            return null;
+        }
+        int mask = keys.length - 1;
+        int i = slot(key, mask);
+        Object value;
+        while ((value = values[i]) != null) {
+            if (keys[i] == key) {
+                return (V) value;
+            }
+            i = (i + 1) & mask;
+        }
+        return null;
+    }
+
+    /**
+     * Checking if there is value stored under key
+     *
+     * @param key key
+     * @return true if key exists
+     */
+    public boolean containsKey(long key) {
+        return get(key) != null;
+    }
+
+    /**
+     * Storing value under key, replacing previous one
+     *
+     * @param key   key
+     * @param value value, cannot be null
+     * @return previous value or null if key was not present
+     */
+    @SuppressWarnings("unchecked")
+    public V put(long key, V value) {
+        if (value == null) {
+            throw new IllegalArgumentException("LongHashMap does not accept null values");
+        }
+        int i = slot(key, mask);
+        Object current;
+        while ((current = values[i]) != null) {
+            if (keys[i] == key) {
+                values[i] = value;
+                return (V) current;
+            }
+            i = (i + 1) & mask;
+        }
+        keys[i] = key;
+        values[i] = value;
+        if (++size > resizeThreshold) {
+            rehash(keys.length << 1);
+        }
+        return null;
+    }
+
+    /**
+     * Removing value stored under key
+     *
+     * @param key key
+     * @return removed value or null if key was not present
+     */
+    @SuppressWarnings("unchecked")
+    public V remove(long key) {
+        int i = slot(key, mask);
+        Object current;
+        while ((current = values[i]) != null) {
+            if (keys[i] == key) {
+                shiftBack(i);
+                size--;
+                return (V) current;
+            }
+            i = (i + 1) & mask;
+        }
+        return null;
+    }
+
+    /**
+     * Filling the gap after removal with following entries of the same probe chain
+     *
+     * @param gap index of removed entry
+     */
+    private void shiftBack(int gap) {
+        int i = gap;
+        while (true) {
+            i = (i + 1) & mask;
+            if (values[i] == null) {
+                break;
+            }
+            int ideal = slot(keys[i], mask);
+            // entry may be moved only if its ideal slot is not between the gap and its current position
+            if (((i - ideal) & mask) >= ((i - gap) & mask)) {
+                keys[gap] = keys[i];
+                values[gap] = values[i];
+                gap = i;
+            }
+        }
+        values[gap] = null;
+    }
+
+    private void rehash(int newCapacity) {
+        long[] oldKeys = keys;
+        Object[] oldValues = values;
+        allocate(newCapacity);
+        for (int j = 0; j < oldValues.length; j++) {
+            if (oldValues[j] != null) {
+                int i = slot(oldKeys[j], mask);
+                while (values[i] != null) {
+                    i = (i + 1) & mask;
+                }
+                keys[i] = oldKeys[j];
+                values[i] = oldValues[j];
+            }
+        }
+    }
+
+    /**
+     * Getter
+     *
+     * @return number of stored entries
+     */
+    public int size() {
+        return size;
+    }
+
+    public boolean isEmpty() {
+        return size == 0;
+    }
+
+    /**
+     * Removing all entries
+     */
+    public void clear() {
+        Arrays.fill(values, null);
+        size = 0;
+    }
+}
@@ -1,10 +1,10 @@
 package interests;
 
-import services.Service;
-
-public class InterestA implements InterestsMechanism {
-    @Override
-    public double interests(Service service) {
-        return service.getBalance() * 0.03;
+/**
+ * 3% of any balance
+ */
+public class InterestA extends TieredInterest {
+    public InterestA() {
+        super(new long[]{Long.MIN_VALUE}, new long[]{300});
     }
 }
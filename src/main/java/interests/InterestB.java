@@ -1,23 +1,10 @@
 package interests;
 
-import services.Service;
-
-public class InterestB implements InterestsMechanism {
-    @Override
-    public double interests(Service service) {
-        if(service.getBalance() < 5000)
-        {
-            return service.getBalance() * 0.03;
-        }
-        else if(service.getBalance() < 50_000)
-        {
-            return service.getBalance() * 0.05;
-        }
-        else if(service.getBalance() < 100_000)
-        {
-            return service.getBalance() * 0.10;
-        }
-        else
-            return service.getBalance() * 0.12;
+/**
+ * 3% below 5 000 zloty, 5% below 50 000 zloty, 10% below 100 000 zloty and 12% above
+ */
+public class InterestB extends TieredInterest {
+    public InterestB() {
+        super(new long[]{Long.MIN_VALUE, 500_000, 5_000_000, 10_000_000}, new long[]{300, 500, 1000, 1200});
     }
 }
@@ -1,17 +1,11 @@
 package interests;
 
-import services.Service;
-
-public class InterestC implements InterestsMechanism {
-    @Override
-    public double interests(Service service) {
-        double balance = service.getBalance();
-        double percentage;
-        if (balance < 500_000) {
-            percentage = 0.13 * balance / 500_000;
-        } else {
-            percentage = 0.13;
-        }
-        return balance * percentage;
+/**
+ * Percentage growing linearly up to 13% at 500 000 zloty, 13% above
+ */
+public class InterestC extends TieredInterest {
+    public InterestC() {
+        super(new long[]{Long.MIN_VALUE, 50_000_000}, new long[]{0, 1300}, new long[]{1300, 0},
+                new double[]{50_000_000.0, 1.0});
     }
 }
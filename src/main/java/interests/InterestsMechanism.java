@@ -1,7 +1,24 @@
 package interests;
 
+import services.Money;
 import services.Service;
 
 public interface InterestsMechanism {
-    public double interests(Service service);
+    /**
+     * Calculating interests of service
+     *
+     * @param service service with balance
+     * @return interests in grosze
+     */
+    public long interestsGrosze(Service service);
+
+    /**
+     * Calculating interests of service
+     *
+     * @param service service with balance
+     * @return interests in zloty
+     */
+    public default double interests(Service service) {
+        return Money.toZloty(interestsGrosze(service));
+    }
 }
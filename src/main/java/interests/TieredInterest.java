@@ -0,0 +1,119 @@
+package interests;
+
+import services.Money;
+import services.Service;
+
+import java.util.Arrays;
+
+/**
+ * Interests described by table of balance tiers. Tier is found by binary search over lower bounds, then interests are
+ * rate of tier plus ramp growing linearly with balance:
+ * <pre>
+ *     interests = balance * basisPoints / 10 000 + balance * balance * rampBasisPoints / (rampDivisor * 10 000)
+ * </pre>
+ * Flat tiers have no ramp. All tables are primitive arrays, so evaluation does not depend on type of mechanism.
+ */
+public class TieredInterest implements InterestsMechanism {
+    private final long[] lowerBounds;
+    private final long[] basisPoints;
+    private final long[] rampBasisPoints;
+    private final double[] rampDivisors;
+
+    /**
+     * Constructor of flat tiers
+     *
+     * @param lowerBounds ascending lower bounds of tiers in grosze, first tier starts at Long.MIN_VALUE
+     * @param basisPoints rate of every tier in 1/100 of percent
+     */
+    public TieredInterest(long[] lowerBounds, long[] basisPoints) {
+        this(lowerBounds, basisPoints, new long[lowerBounds.length], filledDivisors(lowerBounds.length));
+    }
+
+    /**
+     * Constructor
+     *
+     * @param lowerBounds     ascending lower bounds of tiers in grosze, first tier starts at Long.MIN_VALUE
+     * @param basisPoints     fixed rate of every tier in 1/100 of percent
+     * @param rampBasisPoints rate reached by ramp of every tier at balance equal to its divisor, 0 if tier is flat
+     * @param rampDivisors    balance in grosze at which ramp reaches its rate, must be positive
+     */
+    public TieredInterest(long[] lowerBounds, long[] basisPoints, long[] rampBasisPoints, double[] rampDivisors) {
+        int tiers = lowerBounds.length;
+        if (tiers == 0 || basisPoints.length != tiers || rampBasisPoints.length != tiers || rampDivisors.length != tiers) {
+            throw new IllegalArgumentException("Every tier needs lower bound, rate, ramp rate and ramp divisor");
+        }
+        for (int i = 1; i < tiers; i++) {
+            if (lowerBounds[i] <= lowerBounds[i - 1]) {
+                throw new IllegalArgumentException("Lower bounds of tiers must be ascending");
+            }
+        }
+        for (double divisor : rampDivisors) {
+            if (!(divisor > 0)) {
+                throw new IllegalArgumentException("Ramp divisor must be positive");
+            }
+        }
+        this.lowerBounds = lowerBounds.clone();
+        // balance below first bound belongs to first tier
+        this.lowerBounds[0] = Long.MIN_VALUE;
+        this.basisPoints = basisPoints.clone();
+        this.rampBasisPoints = rampBasisPoints.clone();
+        this.rampDivisors = rampDivisors.clone();
+    }
+
+    private static double[] filledDivisors(int tiers) {
+        double[] divisors = new double[tiers];
+        Arrays.fill(divisors, 1.0);
+        return divisors;
+    }
+
+    /**
+     * Finding tier of balance - last tier whose lower bound is not greater than balance. Loop runs fixed number of
+     * steps for given table and its only condition can be compiled to conditional move.
+     *
+     * @param balance balance in grosze
+     * @return index of tier
+     */
+    int tierOf(long balance) {
+        int base = 0;
+        int length = lowerBounds.length;
+        while (length > 1) {
+            int half = length >>> 1;
+            base = lowerBounds[base + half] <= balance ? base + half : base;
+            length -= half;
+        }
+        return base;
+    }
+
+    /**
+     * Calculating interests of balance
+     *
+     * @param balance balance in grosze
+     * @return interests in grosze
+     */
+    public long interestsGrosze(long balance) {
+        int tier = tierOf(balance);
+        // square of balance may not fit in long
+        return Money.percentage(balance, basisPoints[tier])
+                + Math.round((double) balance * balance * rampBasisPoints[tier] / (rampDivisors[tier] * Money.BASIS_POINTS));
+    }
+
+    @Override
+    public long interestsGrosze(Service service) {
+        return interestsGrosze(service.getBalanceGrosze());
+    }
+
+    /**
+     * Calculating interests of many balances at once
+     *
+     * @param balances balances in zloty
+     * @param out      array getting interests in zloty, at least as long as balances
+     */
+    public void interests(double[] balances, double[] out) {
+        if (out.length < balances.length) {
+            throw new IllegalArgumentException("Output array is shorter than balances");
+        }
+        for (int i = 0; i < balances.length; i++) {
+            out[i] = Money.toZloty(interestsGrosze(Money.fromZloty(balances[i])));
+        }
+    }
+}
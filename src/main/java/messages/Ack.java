@@ -8,7 +8,7 @@ public class Ack {
     protected  Integer product2;
     protected  TypeOperation typeOperation;
     protected  LocalDate localDate;
-    protected  String description;
+    protected  CharSequence description; // formatted lazily when it is Description
 
     public Integer getProduct1() {
         return product1;
@@ -27,10 +27,19 @@ public class Ack {
     }
 
     public String getDescription() {
+        return description == null ? null : description.toString();
+    }
+
+    /**
+     * Getting description without formatting it
+     *
+     * @return description as it was given to ACK - string or lazy {@link Description}
+     */
+    public CharSequence getDescriptionSequence() {
         return description;
     }
 
-    public Ack(Integer product1, Integer product2, TypeOperation typeOperation, LocalDate localDate, String description) {
+    public Ack(Integer product1, Integer product2, TypeOperation typeOperation, LocalDate localDate, CharSequence description) {
         this.product1 = product1;
         this.product2 = product2;
         this.typeOperation = typeOperation;
@@ -0,0 +1,71 @@
+package messages;
+
+/**
+ * Templates of ACK descriptions. Every {} is replaced by next argument of {@link Description}, formatted like in
+ * string concatenation.
+ */
+public enum AckTemplate {
+    NEW_CLIENT("New client {} created"),
+    CLIENT_DELETED("Client {} deleted"),
+    NEW_ACCOUNT("Client {} added new account"),
+    ACCOUNT_TO_DEBET("Client {} account changed to debet account with {} limit"),
+    NEW_DEBET_ACCOUNT("Client {} added new debet account with {} and {} percentage"),
+    NEW_DEPOSIT("New {} {} deposit with {} and {} created"),
+    NEW_CREDIT("New {} {} credit with {} and {} created"),
+    TRANSFER("money successfully transferred from account: {} to: {}, with amount of {}"),
+    PAYMENT("money successfully transferred to account: {}, with amount of {}"),
+    WITHDRAW("money successfully withdrawn from account: {}, with amount of {}"),
+    CREDIT_DELETED("Credit of id: {} of client {} deleted"),
+    CREDIT_RATE("rate transferred to credit's account with id {}, value = {}"),
+    CREDIT_PAYED_OFF("credit of client {} is payed off and can be removed"),
+    DEPOSIT_DELETED("Deposit of id: {} of client {} deleted"),
+    DEPOSIT_SOLVED("deposit {} of client {} is solved"),
+    DEPOSIT_BROKEN_UP("deposit {} of client {} is broken up"),
+    PERCENTAGE_CHANGED("Amount of account ({}) percentage changed from {} to {}"),
+    CHANGE_PERCENTAGE("Change percentage from {} to {}. {}"),
+    FAILED_DURING("Failed during: {}"),
+    INTERESTS_ACCRUED("interests accrued on {}"),
+    SESSION_SETTLED("settlement session {} settled with net position of {}");
+
+    private final String pattern;
+    private final String[] parts;
+
+    AckTemplate(String pattern) {
+        this.pattern = pattern;
+        this.parts = pattern.split("\\{}", -1);
+    }
+
+    /**
+     * Getter
+     *
+     * @return pattern with {} in place of arguments
+     */
+    public String getPattern() {
+        return pattern;
+    }
+
+    /**
+     * Getter
+     *
+     * @return number of arguments expected by template
+     */
+    public int getArgumentsNumber() {
+        return parts.length - 1;
+    }
+
+    /**
+     * Formatting description
+     *
+     * @param args arguments put in place of {}
+     * @return formatted description
+     */
+    String format(Object[] args) {
+        StringBuilder builder = new StringBuilder(pattern.length() + 16 * args.length);
+        builder.append(parts[0]);
+        for (int i = 1; i < parts.length; i++) {
+            builder.append(i - 1 < args.length ? args[i - 1] : "{}");
+            builder.append(parts[i]);
+        }
+        return builder.toString();
+    }
+}
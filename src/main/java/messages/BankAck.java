@@ -4,7 +4,8 @@ package messages;
 import java.time.LocalDate;
 
 public class BankAck extends Ack {
-    // TODO - change to long to extend range
+    // TODO - change to long to extend range. Not done yet: ids are int in the whole bank API and indexes, so range
+    // is still 2^31 - IdGenerator narrows its long ids and throws ArithmeticException when it runs out
     private Integer clientId;
 
     /**
@@ -35,7 +36,7 @@ public class BankAck extends Ack {
      * @param localDate
      * @param description
      */
-    public BankAck(Integer product1, Integer product2, Integer clientId,TypeOperation typeOperation, LocalDate localDate, String description) {
+    public BankAck(Integer product1, Integer product2, Integer clientId,TypeOperation typeOperation, LocalDate localDate, CharSequence description) {
         super(product1, product2, typeOperation, localDate, description);
         this.clientId = clientId;
     }
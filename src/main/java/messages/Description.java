@@ -0,0 +1,86 @@
+package messages;
+
+/**
+ * Description of ACK built from template and captured arguments. Text is formatted only when somebody reads it,
+ * so operations do not pay for string concatenation and toString() of products when history is never read.
+ * <p>
+ * Arguments should be immutable or have identity based toString(), otherwise text reflects their state at the time
+ * of reading.
+ */
+public final class Description implements CharSequence {
+    private final AckTemplate template;
+    private final Object[] args;
+    private String text; // cached, racy but String is immutable
+
+    private Description(AckTemplate template, Object[] args) {
+        this.template = template;
+        this.args = args;
+    }
+
+    /**
+     * Creating description
+     *
+     * @param template template of description
+     * @param args     arguments of template
+     * @return lazy description
+     */
+    public static Description of(AckTemplate template, Object... args) {
+        if (template == null) {
+            throw new IllegalArgumentException("Template cannot be null");
+        }
+        return new Description(template, args == null ? new Object[0] : args);
+    }
+
+    /**
+     * Getter
+     *
+     * @return template of description
+     */
+    public AckTemplate getTemplate() {
+        return template;
+    }
+
+    /**
+     * Getter
+     *
+     * @return number of captured arguments
+     */
+    public int getArgumentsNumber() {
+        return args.length;
+    }
+
+    /**
+     * Getter
+     *
+     * @param index index of argument
+     * @return captured argument
+     */
+    public Object getArgument(int index) {
+        return args[index];
+    }
+
+    @Override
+    public String toString() {
+        String result = text;
+        if (result == null) {
+            result = template.format(args);
+            text = result;
+        }
+        return result;
+    }
+
+    @Override
+    public int length() {
+        return toString().length();
+    }
+
+    @Override
+    public char charAt(int index) {
+        return toString().charAt(index);
+    }
+
+    @Override
+    public CharSequence subSequence(int start, int end) {
+        return toString().subSequence(start, end);
+    }
+}
@@ -0,0 +1,182 @@
+package messages;
+
+import java.nio.BufferOverflowException;
+import java.nio.BufferUnderflowException;
+import java.nio.ByteBuffer;
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * Binary format of batch of packages, written straight into and read straight from {@link ByteBuffer}, without
+ * intermediate arrays. Batch starts with header - format byte and number of packages as int. Then every package is:
+ * <ul>
+ * <li>FIXED - from bank, from account, to bank, to account as int, value in grosze as long, type as byte
+ * (25 bytes)</li>
+ * <li>COMPACT - the same fields, ids as zigzag varint of difference to the same field of previous package, value as
+ * zigzag varint, type as byte. Packages of one batch mostly share banks and have close account ids, so a package
+ * takes few bytes.</li>
+ * </ul>
+ */
+public final class PackageCodec {
+    public static final byte FIXED = 0;
+    public static final byte COMPACT = 1;
+    public static final int HEADER_SIZE = 5;
+    public static final int FIXED_PACKAGE_SIZE = 4 * 4 + 8 + 1;
+    private static final TypeOfPackage[] TYPES = TypeOfPackage.values();
+
+    private PackageCodec() {
+    }
+
+    /**
+     * Calculating size of encoded batch
+     *
+     * @param packages packages of batch
+     * @param format   FIXED or COMPACT
+     * @return size in bytes
+     */
+    public static int encodedSize(List<PackageToAnotherBank> packages, byte format) {
+        if (format == FIXED) {
+            return HEADER_SIZE + packages.size() * FIXED_PACKAGE_SIZE;
+        }
+        checkFormat(format);
+        int size = HEADER_SIZE;
+        int fromBank = 0, fromAccount = 0, toBank = 0, toAccount = 0;
+        for (PackageToAnotherBank p : packages) {
+            size += varintSize(zigzag(p.getFromBank() - fromBank))
+                    + varintSize(zigzag(p.getFromAccount() - fromAccount))
+                    + varintSize(zigzag(p.getToBank() - toBank))
+                    + varintSize(zigzag(p.getToAccount() - toAccount))
+                    + varintSize(zigzag(p.getValueGrosze()))
+                    + 1;
+            fromBank = p.getFromBank();
+            fromAccount = p.getFromAccount();
+            toBank = p.getToBank();
+            toAccount = p.getToAccount();
+        }
+        return size;
+    }
+
+    /**
+     * Encoding batch at position of buffer, position is moved past the batch
+     *
+     * @param packages packages of batch
+     * @param format   FIXED or COMPACT
+     * @param buffer   buffer with enough remaining space, see {@link #encodedSize(List, byte)}
+     * @throws BufferOverflowException when batch does not fit in buffer
+     */
+    public static void encode(List<PackageToAnotherBank> packages, byte format, ByteBuffer buffer) {
+        checkFormat(format);
+        buffer.put(format);
+        buffer.putInt(packages.size());
+        if (format == FIXED) {
+            for (PackageToAnotherBank p : packages) {
+                buffer.putInt(p.getFromBank());
+                buffer.putInt(p.getFromAccount());
+                buffer.putInt(p.getToBank());
+                buffer.putInt(p.getToAccount());
+                buffer.putLong(p.getValueGrosze());
+                buffer.put((byte) p.getTypeOfPackage().ordinal());
+            }
+            return;
+        }
+        int fromBank = 0, fromAccount = 0, toBank = 0, toAccount = 0;
+        for (PackageToAnotherBank p : packages) {
+            putVarint(buffer, zigzag(p.getFromBank() - fromBank));
+            putVarint(buffer, zigzag(p.getFromAccount() - fromAccount));
+            putVarint(buffer, zigzag(p.getToBank() - toBank));
+            putVarint(buffer, zigzag(p.getToAccount() - toAccount));
+            putVarint(buffer, zigzag(p.getValueGrosze()));
+            buffer.put((byte) p.getTypeOfPackage().ordinal());
+            fromBank = p.getFromBank();
+            fromAccount = p.getFromAccount();
+            toBank = p.getToBank();
+            toAccount = p.getToAccount();
+        }
+    }
+
+    /**
+     * Decoding batch at position of buffer, position is moved past the batch
+     *
+     * @param buffer buffer with encoded batch
+     * @return packages of batch
+     * @throws IllegalArgumentException when data is not valid batch
+     * @throws BufferUnderflowException when batch is cut off
+     */
+    public static List<PackageToAnotherBank> decode(ByteBuffer buffer) {
+        byte format = buffer.get();
+        checkFormat(format);
+        int count = buffer.getInt();
+        if (count < 0) {
+            throw new IllegalArgumentException("Negative number of packages: " + count);
+        }
+        // every package takes at least 6 bytes, so corrupted count cannot allocate huge list
+        List<PackageToAnotherBank> packages = new ArrayList<>(Math.min(count, buffer.remaining() / 6));
+        if (format == FIXED) {
+            for (int i = 0; i < count; i++) {
+                int fromBank = buffer.getInt();
+                int fromAccount = buffer.getInt();
+                int toBank = buffer.getInt();
+                int toAccount = buffer.getInt();
+                long value = buffer.getLong();
+                packages.add(PackageToAnotherBank.ofGrosze(fromBank, fromAccount, toBank, toAccount, value, type(buffer.get())));
+            }
+            return packages;
+        }
+        int fromBank = 0, fromAccount = 0, toBank = 0, toAccount = 0;
+        for (int i = 0; i < count; i++) {
+            fromBank += (int) unzigzag(getVarint(buffer));
+            fromAccount += (int) unzigzag(getVarint(buffer));
+            toBank += (int) unzigzag(getVarint(buffer));
+            toAccount += (int) unzigzag(getVarint(buffer));
+            long value = unzigzag(getVarint(buffer));
+            packages.add(PackageToAnotherBank.ofGrosze(fromBank, fromAccount, toBank, toAccount, value, type(buffer.get())));
+        }
+        return packages;
+    }
+
+    private static void checkFormat(byte format) {
+        if (format != FIXED && format != COMPACT) {
+            throw new IllegalArgumentException("Unknown format: " + format);
+        }
+    }
+
+    private static TypeOfPackage type(byte ordinal) {
+        if (ordinal < 0 || ordinal >= TYPES.length) {
+            throw new IllegalArgumentException("Unknown type of package: " + ordinal);
+        }
+        return TYPES[ordinal];
+    }
+
+    private static long zigzag(long value) {
+        return (value << 1) ^ (value >> 63);
+    }
+
+    private static long unzigzag(long value) {
+        return (value >>> 1) ^ -(value & 1);
+    }
+
+    private static int varintSize(long value) {
+        // 7 bits per byte, at least one byte
+        return Math.max(1, (64 - Long.numberOfLeadingZeros(value) + 6) / 7);
+    }
+
+    private static void putVarint(ByteBuffer buffer, long value) {
+        while ((value & ~0x7FL) != 0) {
+            buffer.put((byte) ((value & 0x7F) | 0x80));
+            value >>>= 7;
+        }
+        buffer.put((byte) value);
+    }
+
+    private static long getVarint(ByteBuffer buffer) {
+        long value = 0;
+        for (int shift = 0; shift < 64; shift += 7) {
+            byte b = buffer.get();
+            value |= (long) (b & 0x7F) << shift;
+            if (b >= 0) {
+                return value;
+            }
+        }
+        throw new IllegalArgumentException("Varint is too long");
+    }
+}
@@ -1,13 +1,15 @@
 package messages;
 
+import services.Money;
+
 public class PackageToAnotherBank
 {
-    private int fromBank;
-    private int fromAccount;
-    private int toBank;
-    private int toAccount;
-    private double value;
-    private TypeOfPackage typeOfPackage;
+    private final int fromBank;
+    private final int fromAccount;
+    private final int toBank;
+    private final int toAccount;
+    private final long value; // in grosze
+    private final TypeOfPackage typeOfPackage;
 
     public int getFromBank()
     {
@@ -30,6 +32,11 @@ public class PackageToAnotherBank
     }
 
     public double getValue()
+    {
+        return Money.toZloty(value);
+    }
+
+    public long getValueGrosze()
     {
         return value;
     }
@@ -40,6 +47,11 @@ public class PackageToAnotherBank
     }
 
     public PackageToAnotherBank(int fromBank, int fromAccount, int toBank, int toAccount, double value, TypeOfPackage typeOfPackage)
+    {
+        this(fromBank, fromAccount, toBank, toAccount, Money.fromZloty(value), typeOfPackage);
+    }
+
+    private PackageToAnotherBank(int fromBank, int fromAccount, int toBank, int toAccount, long value, TypeOfPackage typeOfPackage)
     {
         this.fromBank = fromBank;
         this.fromAccount = fromAccount;
@@ -48,4 +60,20 @@ public class PackageToAnotherBank
         this.value = value;
         this.typeOfPackage = typeOfPackage;
     }
+
+    /**
+     * Creating package with value in grosze, e.g. when it is decoded
+     *
+     * @param fromBank      sending bank id
+     * @param fromAccount   sending account id
+     * @param toBank        receiving bank id
+     * @param toAccount     receiving account id
+     * @param value         value in grosze
+     * @param typeOfPackage type of package
+     * @return package
+     */
+    public static PackageToAnotherBank ofGrosze(int fromBank, int fromAccount, int toBank, int toAccount, long value, TypeOfPackage typeOfPackage)
+    {
+        return new PackageToAnotherBank(fromBank, fromAccount, toBank, toAccount, value, typeOfPackage);
+    }
 }
\ No newline at end of file
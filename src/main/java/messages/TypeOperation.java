@@ -1,5 +1,5 @@
 package messages;
 
 public enum TypeOperation {
-    TRANSFER, TRANSFER_INTERBANK, PAY_PERCENTAGE, CHANGE_PERCENTAGE, PAYMENT, WITHDRAWN, CREATE_ACCOUNT, MAKE_DEBET, MAKE_NORMAL, DELETE_ACCOUNT, ADD_NEW_CLIENT, DELETE_CLIENT, DELETE_CREDIT, DELETE_DEPOSIT, TRANSFER_BOUNCED, FAILURE;
+    TRANSFER, TRANSFER_INTERBANK, PAY_PERCENTAGE, CHANGE_PERCENTAGE, PAYMENT, WITHDRAWN, CREATE_ACCOUNT, MAKE_DEBET, MAKE_NORMAL, DELETE_ACCOUNT, ADD_NEW_CLIENT, DELETE_CLIENT, DELETE_CREDIT, DELETE_DEPOSIT, TRANSFER_BOUNCED, FAILURE, SETTLEMENT;
 }
\ No newline at end of file
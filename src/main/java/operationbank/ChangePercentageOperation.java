@@ -2,6 +2,8 @@ package operationbank;
 
 import interests.InterestsMechanism;
 import messages.Ack;
+import messages.AckTemplate;
+import messages.Description;
 import messages.TypeOperation;
 import operations.Command;
 import services.Product;
@@ -12,9 +14,9 @@ public class ChangePercentageOperation implements Command {
 
     Product bankAccount;
     InterestsMechanism mechanism;
-    String description;
+    CharSequence description;
 
-    public ChangePercentageOperation(Product bankAccount, InterestsMechanism mechanism, String description) {
+    public ChangePercentageOperation(Product bankAccount, InterestsMechanism mechanism, CharSequence description) {
         this.bankAccount = bankAccount;
         this.mechanism = mechanism;
         this.description = description;
@@ -25,7 +27,7 @@ public class ChangePercentageOperation implements Command {
         InterestsMechanism oldMechanism = bankAccount.getInterestsMechanism();
         bankAccount.setInterestsMechanism(mechanism);
 
-        Ack ack = new Ack(bankAccount.getId(), null, TypeOperation.CHANGE_PERCENTAGE, LocalDate.now(), "Change percentage from " + oldMechanism + " to " + mechanism + ". " + description);
+        Ack ack = new Ack(bankAccount.getId(), null, TypeOperation.CHANGE_PERCENTAGE, LocalDate.now(), Description.of(AckTemplate.CHANGE_PERCENTAGE, oldMechanism, mechanism, description));
         bankAccount.addToHistory(ack);
         return ack;
     }
@@ -2,6 +2,8 @@ package operationbank;
 
 import bank.Bank;
 import messages.Ack;
+import messages.AckTemplate;
+import messages.Description;
 import messages.TypeOperation;
 import operations.Command;
 import services.DebetAccountDecorator;
@@ -15,10 +17,10 @@ public class MakeAccountDebetOperation implements Command {
     double limit;
     double debet;
     Product bankAccount;
-    String description;
+    CharSequence description;
     Bank bank;
 
-    public MakeAccountDebetOperation(Bank bank, Product bankAccount, double limit, String description) {
+    public MakeAccountDebetOperation(Bank bank, Product bankAccount, double limit, CharSequence description) {
         this.bankAccount = bankAccount;
         this.limit = limit;
         this.debet = 0;
@@ -36,7 +38,7 @@ public class MakeAccountDebetOperation implements Command {
         }
         else
         {
-            ack = new Ack(bankAccount.getId(), null, TypeOperation.FAILURE, LocalDate.now(), "Failed during: " + description);
+            ack = new Ack(bankAccount.getId(), null, TypeOperation.FAILURE, LocalDate.now(), Description.of(AckTemplate.FAILED_DURING, description));
         }
         bankAccount.addToHistory(ack);
 
@@ -3,6 +3,7 @@ package operationbank;
 import messages.Ack;
 import messages.TypeOperation;
 import operations.Command;
+import services.Money;
 import services.Product;
 
 import java.time.LocalDate;
@@ -11,9 +12,9 @@ public class PayPercentageOperation implements Command {
 
 
     Product bankAccount;
-    String description;
+    CharSequence description;
 
-    public PayPercentageOperation(Product bankAccount, String description) {
+    public PayPercentageOperation(Product bankAccount, CharSequence description) {
         this.bankAccount = bankAccount;
         this.description = description;
     }
@@ -21,9 +22,9 @@ public class PayPercentageOperation implements Command {
     @Override
     public Ack execute()
     {
-        double balance = bankAccount.getBalance();
+        long balance = bankAccount.getBalanceGrosze();
         if (balance > 0) {
-            bankAccount.increaseBalance(bankAccount.getInterests());
+            bankAccount.increaseBalanceGrosze(bankAccount.getInterestsGrosze());
             Ack ack = new Ack(bankAccount.getId(), null, TypeOperation.PAY_PERCENTAGE, LocalDate.now(), description);
             bankAccount.addToHistory(ack);
             return ack;
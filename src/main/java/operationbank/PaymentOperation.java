@@ -3,6 +3,7 @@ package operationbank;
 import messages.Ack;
 import messages.TypeOperation;
 import operations.Command;
+import services.Money;
 import services.Product;
 
 import java.time.LocalDate;
@@ -10,18 +11,18 @@ import java.time.LocalDate;
 public class PaymentOperation implements Command {
 
     Product bankAccount;
-    double value;
-    String description;
+    long value; // in grosze
+    CharSequence description;
 
-    public PaymentOperation(Product bankAccount, double value, String description) {
+    public PaymentOperation(Product bankAccount, double value, CharSequence description) {
         this.bankAccount = bankAccount;
-        this.value = value;
+        this.value = Money.fromZloty(value);
         this.description = description;
     }
 
     @Override
     public Ack execute() {
-        bankAccount.increaseBalance(value);
+        bankAccount.increaseBalanceGrosze(value);
         Ack ack = new Ack(bankAccount.getId(), null, TypeOperation.PAYMENT, LocalDate.now(), description);
         return ack;
     }
@@ -3,6 +3,7 @@ package operationbank;
 import messages.Ack;
 import messages.TypeOperation;
 import operations.Command;
+import services.Money;
 import services.Product;
 
 import java.time.LocalDate;
@@ -11,23 +12,23 @@ public class TransferFromToOperation implements Command
 {
     private Product bankAccountFrom;
     private Product bankAccountTo;
-    private double value;
-    private String description;
+    private long value; // in grosze
+    private CharSequence description;
 
-    public TransferFromToOperation(Product bankAccountFrom, Product getBankAccountTo, double value, String description)
+    public TransferFromToOperation(Product bankAccountFrom, Product getBankAccountTo, double value, CharSequence description)
     {
         this.bankAccountFrom = bankAccountFrom;
         this.bankAccountTo = getBankAccountTo;
-        this.value = value;
+        this.value = Money.fromZloty(value);
         this.description = description;
     }
 
     @Override
     public Ack execute()
     {
-        if (bankAccountFrom.decreaseBalance(value))
+        if (bankAccountFrom.decreaseBalanceGrosze(value))
         {
-            bankAccountTo.increaseBalance(value);
+            bankAccountTo.increaseBalanceGrosze(value);
             Ack ack = new Ack(bankAccountFrom.getId(), bankAccountTo.getId(), TypeOperation.TRANSFER, LocalDate.now(), description);
             bankAccountFrom.addToHistory(ack);
             bankAccountTo.addToHistory(ack);
@@ -3,6 +3,7 @@ package operationbank;
 import messages.Ack;
 import messages.TypeOperation;
 import operations.Command;
+import services.Money;
 import services.Product;
 
 import java.time.LocalDate;
@@ -10,8 +11,8 @@ import java.time.LocalDate;
 public class TransferInterbankOperation implements Command {
     private int bankAccountFrom;
     private Product bankAccountTo;
-    private double value;
-    private String description;
+    private long value; // in grosze
+    private CharSequence description;
 
     /**
      * TODO Konto musi istniec!!!!!!!
@@ -21,16 +22,16 @@ public class TransferInterbankOperation implements Command {
      * @param value
      * @param description
      */
-    public TransferInterbankOperation(int bankAccountFrom, Product getBankAccountTo, double value, String description) {
+    public TransferInterbankOperation(int bankAccountFrom, Product getBankAccountTo, double value, CharSequence description) {
         this.bankAccountFrom = bankAccountFrom;
         this.bankAccountTo = getBankAccountTo;
-        this.value = value;
+        this.value = Money.fromZloty(value);
         this.description = description;
     }
 
     @Override
     public Ack execute() {
-        bankAccountTo.increaseBalance(value);
+        bankAccountTo.increaseBalanceGrosze(value);
         Ack ack = new Ack(bankAccountFrom, bankAccountTo.getId(), TypeOperation.TRANSFER, LocalDate.now(), description);
         bankAccountTo.addToHistory(ack);
         return ack;
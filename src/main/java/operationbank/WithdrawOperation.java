@@ -3,6 +3,7 @@ package operationbank;
 import messages.Ack;
 import messages.TypeOperation;
 import operations.Command;
+import services.Money;
 import services.Product;
 
 import java.time.LocalDate;
@@ -10,19 +11,19 @@ import java.time.LocalDate;
 public class WithdrawOperation implements Command {
 
     Product bankAccount;
-    double value;
-    String description;
+    long value; // in grosze
+    CharSequence description;
 
-    public WithdrawOperation(Product bankAccount, double value, String description) {
+    public WithdrawOperation(Product bankAccount, double value, CharSequence description) {
         this.bankAccount = bankAccount;
-        this.value = value;
+        this.value = Money.fromZloty(value);
         this.description = description;
     }
 
     @Override
     public Ack execute()
     {
-        if (bankAccount.decreaseBalance(value)) {
+        if (bankAccount.decreaseBalanceGrosze(value)) {
             Ack ack = new Ack(null, bankAccount.getId(), TypeOperation.WITHDRAWN, LocalDate.now(), description);
             return ack;
         }
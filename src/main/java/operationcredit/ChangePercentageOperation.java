@@ -2,6 +2,8 @@ package operationcredit;
 
 import interests.InterestsMechanism;
 import messages.Ack;
+import messages.AckTemplate;
+import messages.Description;
 import messages.TypeOperation;
 import operations.Command;
 import services.Credit;
@@ -12,9 +14,9 @@ public class ChangePercentageOperation implements Command {
 
     Credit credit;
     InterestsMechanism mechanism;
-    String description;
+    CharSequence description;
 
-    public ChangePercentageOperation(Credit credit, InterestsMechanism mechanism, String description) {
+    public ChangePercentageOperation(Credit credit, InterestsMechanism mechanism, CharSequence description) {
         this.credit = credit;
         this.mechanism = mechanism;
         this.description = description;
@@ -27,7 +29,7 @@ public class ChangePercentageOperation implements Command {
         credit.setInterestsMechanism(mechanism);
 
         Ack ack = new Ack(credit.getId(), null, TypeOperation.CHANGE_PERCENTAGE, LocalDate.now(),
-                "Change percentage from " + oldMechanism + " to " + mechanism + ". " + description);
+                Description.of(AckTemplate.CHANGE_PERCENTAGE, oldMechanism, mechanism, description));
         credit.addToHistory(ack);
 
         return ack;
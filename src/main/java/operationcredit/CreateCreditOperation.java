@@ -5,6 +5,7 @@ import messages.Ack;
 import messages.TypeOperation;
 import operations.Command;
 import services.Credit;
+import services.Money;
 import services.Product;
 
 import java.time.LocalDate;
@@ -13,14 +14,14 @@ public class CreateCreditOperation implements Command {
 
 
     Product bankAccount;
-    double balance;
+    long balance; // in grosze
     InterestsMechanism interestsMechanism;
     int ownerId;
-    String description;
+    CharSequence description;
 
-    public CreateCreditOperation(Product bankAccount, double balance, int ownerId, InterestsMechanism interestsMechanism, String description) {
+    public CreateCreditOperation(Product bankAccount, double balance, int ownerId, InterestsMechanism interestsMechanism, CharSequence description) {
         this.bankAccount = bankAccount;
-        this.balance = balance;
+        this.balance = Money.fromZloty(balance);
         this.ownerId = ownerId;
         this.description = description;
         this.interestsMechanism = interestsMechanism;
@@ -29,7 +30,7 @@ public class CreateCreditOperation implements Command {
     @Override
     public Ack execute()
     {
-        Credit credit = new Credit(bankAccount, balance * (-1), ownerId, interestsMechanism);
+        Credit credit = new Credit(bankAccount, Money.toZloty(-balance), ownerId, interestsMechanism);
 
         Ack ack = new Ack(credit.getId(), null, TypeOperation.CREATE_ACCOUNT, LocalDate.now(), description);
         Ack ackBankAccount = new Ack(credit.getId(), bankAccount.getId(), TypeOperation.TRANSFER, LocalDate.now(), description);
@@ -37,7 +38,7 @@ public class CreateCreditOperation implements Command {
         credit.addToHistory(ack);
         credit.addToHistory(ackBankAccount);
 
-        bankAccount.increaseBalance(balance);
+        bankAccount.increaseBalanceGrosze(balance);
         return ack;
 
     }
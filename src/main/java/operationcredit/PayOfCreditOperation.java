@@ -4,6 +4,7 @@ import messages.Ack;
 import messages.TypeOperation;
 import operations.Command;
 import services.Credit;
+import services.Money;
 import services.Product;
 
 import java.time.LocalDate;
@@ -11,9 +12,9 @@ import java.time.LocalDate;
 public class PayOfCreditOperation implements Command {
 
     Credit credit;
-    String description;
+    CharSequence description;
 
-    public PayOfCreditOperation(Credit credit, String description) {
+    public PayOfCreditOperation(Credit credit, CharSequence description) {
         this.credit = credit;
         this.description = description;
     }
@@ -21,11 +22,11 @@ public class PayOfCreditOperation implements Command {
     @Override
     public Ack execute()
     {
-        double remainingValue = Math.abs(credit.getBalance());
+        long remainingValue = Math.abs(credit.getBalanceGrosze());
         Product bankAccount = credit.getBankAccount();
 
-        if (bankAccount.decreaseBalance(remainingValue)) {
-            credit.increaseBalance(remainingValue);
+        if (bankAccount.decreaseBalanceGrosze(remainingValue)) {
+            credit.increaseBalanceGrosze(remainingValue);
 
             Ack ack = new Ack(credit.getId(), bankAccount.getId(), TypeOperation.TRANSFER, LocalDate.now(), description);
             credit.addToHistory(ack);
@@ -4,6 +4,7 @@ import messages.Ack;
 import messages.TypeOperation;
 import operations.Command;
 import services.Credit;
+import services.Money;
 
 import java.time.LocalDate;
 
@@ -12,10 +13,10 @@ public class PayPercentageOperation implements Command {
 
 
     Credit credit;
-    String description;
+    CharSequence description;
 
 
-    public PayPercentageOperation(Credit credit, String description) {
+    public PayPercentageOperation(Credit credit, CharSequence description) {
         this.credit = credit;
         this.description = description;
     }
@@ -24,10 +25,10 @@ public class PayPercentageOperation implements Command {
     @Override
     public Ack execute()
     {
-        double balance = credit.getBalance();
+        long balance = credit.getBalanceGrosze();
 
         if (balance < 0) {
-            credit.decreaseBalance(credit.getInterests());
+            credit.decreaseBalanceGrosze(credit.getInterestsGrosze());
             Ack ack = new Ack(credit.getId(), null, TypeOperation.PAY_PERCENTAGE, LocalDate.now(), description);
             credit.addToHistory(ack);
             return ack;
@@ -4,6 +4,7 @@ import messages.Ack;
 import messages.TypeOperation;
 import operations.Command;
 import services.Credit;
+import services.Money;
 import services.Product;
 
 import java.time.LocalDate;
@@ -11,12 +12,12 @@ import java.time.LocalDate;
 public class TransferOperation implements Command {
 
     Credit credit;
-    double value;
-    String description;
+    long value; // in grosze
+    CharSequence description;
 
-    public TransferOperation(Credit credit, double value, String description) {
+    public TransferOperation(Credit credit, double value, CharSequence description) {
         this.credit = credit;
-        this.value = value;
+        this.value = Money.fromZloty(value);
         this.description = description;
     }
 
@@ -25,8 +26,8 @@ public class TransferOperation implements Command {
     public Ack execute()
     {
         Product bankAccount = credit.getBankAccount();
-        if (credit.increaseBalance(value)) {
-            if (bankAccount.decreaseBalance(value)) {
+        if (credit.increaseBalanceGrosze(value)) {
+            if (bankAccount.decreaseBalanceGrosze(value)) {
 
                 Ack ack = new Ack(credit.getId(), bankAccount.getId(), TypeOperation.TRANSFER, LocalDate.now(), description);
                 credit.addToHistory(ack);
@@ -34,7 +35,7 @@ public class TransferOperation implements Command {
 
                 return ack;
             } else {
-                credit.decreaseBalance(value);
+                credit.decreaseBalanceGrosze(value);
             }
         }
 
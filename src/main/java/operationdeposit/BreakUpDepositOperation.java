@@ -13,9 +13,9 @@ public class BreakUpDepositOperation implements Command {
 
 
     Deposit deposit;
-    String description;
+    CharSequence description;
 
-    public BreakUpDepositOperation(Deposit deposit, String description) {
+    public BreakUpDepositOperation(Deposit deposit, CharSequence description) {
         this.deposit = deposit;
         this.description = description;
     }
@@ -25,10 +25,10 @@ public class BreakUpDepositOperation implements Command {
     public Ack execute()
     {
         Product bankAccount = deposit.getBankAccount();
-        double value = deposit.getBalance();
+        long value = deposit.getBalanceGrosze();
 
-        if (deposit.decreaseBalance(value)) {
-            bankAccount.increaseBalance(value);
+        if (deposit.decreaseBalanceGrosze(value)) {
+            bankAccount.increaseBalanceGrosze(value);
 
             Ack ack = new Ack(deposit.getId(), bankAccount.getId(), TypeOperation.TRANSFER, LocalDate.now(), description);
             deposit.addToHistory(ack);
@@ -2,6 +2,8 @@ package operationdeposit;
 
 import interests.InterestsMechanism;
 import messages.Ack;
+import messages.AckTemplate;
+import messages.Description;
 import messages.TypeOperation;
 import operations.Command;
 import services.Deposit;
@@ -12,9 +14,9 @@ public class ChangePercentageOperation implements Command {
 
     Deposit deposit;
     InterestsMechanism mechanism;
-    String description;
+    CharSequence description;
 
-    public ChangePercentageOperation(Deposit deposit, InterestsMechanism mechanism, String description) {
+    public ChangePercentageOperation(Deposit deposit, InterestsMechanism mechanism, CharSequence description) {
         this.deposit = deposit;
         this.mechanism = mechanism;
         this.description = description;
@@ -26,7 +28,7 @@ public class ChangePercentageOperation implements Command {
         InterestsMechanism oldMechanism = deposit.getInterestsMechanism();
         deposit.setInterestsMechanism(mechanism);
         Ack ack = new Ack(deposit.getId(), null, TypeOperation.CHANGE_PERCENTAGE, LocalDate.now(),
-                "Change percentage from " + oldMechanism + " to "+ mechanism + ". " + description);
+                Description.of(AckTemplate.CHANGE_PERCENTAGE, oldMechanism, mechanism, description));
         deposit.addToHistory(ack);
         return ack;
 
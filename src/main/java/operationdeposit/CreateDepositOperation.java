@@ -5,6 +5,7 @@ import messages.Ack;
 import messages.TypeOperation;
 import operations.Command;
 import services.Deposit;
+import services.Money;
 import services.Product;
 
 import java.time.LocalDate;
@@ -13,15 +14,15 @@ public class CreateDepositOperation implements Command {
 
 
     Product bankAccount;
-    double value;
+    long value; // in grosze
     long duration;
     int ownerId;
     InterestsMechanism interestsMechanism;
-    String description;
+    CharSequence description;
 
-    public CreateDepositOperation(Product bankAccount, double value, int ownerId, long duration, InterestsMechanism interestsMechanism, String description) {
+    public CreateDepositOperation(Product bankAccount, double value, int ownerId, long duration, InterestsMechanism interestsMechanism, CharSequence description) {
         this.bankAccount = bankAccount;
-        this.value = value;
+        this.value = Money.fromZloty(value);
         this.ownerId = ownerId;
         this.duration = duration;
         this.interestsMechanism = interestsMechanism;
@@ -31,8 +32,8 @@ public class CreateDepositOperation implements Command {
     @Override
     public Ack execute()
     {
-        if (bankAccount.decreaseBalance(value)) {
-            Deposit deposit = new Deposit(bankAccount, value, ownerId, duration, interestsMechanism);
+        if (bankAccount.decreaseBalanceGrosze(value)) {
+            Deposit deposit = new Deposit(bankAccount, Money.toZloty(value), ownerId, duration, interestsMechanism);
 
             Ack ack = new Ack(deposit.getId(), null, TypeOperation.CREATE_ACCOUNT, LocalDate.now(), description);
             Ack ackBankAccount = new Ack(bankAccount.getId(), deposit.getId(), TypeOperation.TRANSFER, LocalDate.now(), description);
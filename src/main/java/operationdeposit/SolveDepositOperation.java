@@ -12,9 +12,9 @@ public class SolveDepositOperation implements Command {
 
 
     Deposit deposit;
-    String description;
+    CharSequence description;
 
-    public SolveDepositOperation(Deposit deposit, String description) {
+    public SolveDepositOperation(Deposit deposit, CharSequence description) {
         this.deposit = deposit;
         this.description = description;
     }
@@ -23,12 +23,12 @@ public class SolveDepositOperation implements Command {
     public Ack execute()
     {
         Product bankAccount = deposit.getBankAccount();
-        double value = deposit.getBalance();
-        double interest = deposit.getInterests();
+        long value = deposit.getBalanceGrosze();
+        long interest = deposit.getInterestsGrosze();
 
-        if (deposit.decreaseBalance(value)) {
-            double newValue = value + interest;
-            bankAccount.increaseBalance(newValue);
+        if (deposit.decreaseBalanceGrosze(value)) {
+            long newValue = value + interest;
+            bankAccount.increaseBalanceGrosze(newValue);
 
             Ack ack = new Ack(deposit.getId(), bankAccount.getId(), TypeOperation.TRANSFER, LocalDate.now(), description);
             deposit.addToHistory(ack);
@@ -0,0 +1,30 @@
+package reports;
+
+/**
+ * Report which can be computed in parts by many threads. Every part is visited by its own empty copy of the report and
+ * parts are combined afterwards, so visitors do not need any synchronization.
+ */
+public interface CombinableReport extends Report {
+    /**
+     * Creating empty report with the same criteria
+     *
+     * @return new report
+     */
+    CombinableReport newPartial();
+
+    /**
+     * Adding results of other part of the report, visited after products of this part
+     *
+     * @param partial report of following part
+     */
+    void combine(CombinableReport partial);
+
+    /**
+     * Checking if report can be computed in parts, e.g. composite report can be only if all its reports can
+     *
+     * @return true if report can be computed in parts
+     */
+    default boolean canCombine() {
+        return true;
+    }
+}
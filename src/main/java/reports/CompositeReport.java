@@ -0,0 +1,115 @@
+package reports;
+
+import services.*;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.List;
+
+/**
+ * Set of reports computed in one pass over products - every visited product is dispatched to all reports, so products
+ * are read once instead of once per report. Results stay in the reports passed in, composite itself collects nothing.
+ * <p>
+ * Composite can be run in parallel if all its reports are {@link CombinableReport}.
+ */
+public class CompositeReport implements CombinableReport {
+    private final List<Report> reports;
+
+    public CompositeReport(Report... reports) {
+        this(Arrays.asList(reports));
+    }
+
+    public CompositeReport(List<? extends Report> reports) {
+        this.reports = new ArrayList<>(reports);
+    }
+
+    /**
+     * Getter
+     *
+     * @return reports computed together
+     */
+    public List<Report> getReports() {
+        return Collections.unmodifiableList(reports);
+    }
+
+    @Override
+    public void visit(BankAccount bankAccount) {
+        for (Report report : reports) {
+            report.visit(bankAccount);
+        }
+    }
+
+    @Override
+    public void visit(Credit credit) {
+        for (Report report : reports) {
+            report.visit(credit);
+        }
+    }
+
+    @Override
+    public void visit(DebetAccountDecorator debetAccountDecorator) {
+        for (Report report : reports) {
+            report.visit(debetAccountDecorator);
+        }
+    }
+
+    @Override
+    public void visit(Deposit deposit) {
+        for (Report report : reports) {
+            report.visit(deposit);
+        }
+    }
+
+    /**
+     * Getter
+     *
+     * @return empty list - products meeting criteria are kept by reports of the composite
+     */
+    @Override
+    public List<Product> getProductsWithCriteria() {
+        return Collections.emptyList();
+    }
+
+    /**
+     * Checking if all reports are finished
+     *
+     * @return true if visiting can stop
+     */
+    @Override
+    public boolean isFinished() {
+        for (Report report : reports) {
+            if (!report.isFinished()) {
+                return false;
+            }
+        }
+        return !reports.isEmpty();
+    }
+
+    @Override
+    public boolean canCombine() {
+        for (Report report : reports) {
+            if (!(report instanceof CombinableReport) || !((CombinableReport) report).canCombine()) {
+                return false;
+            }
+        }
+        return true;
+    }
+
+    @Override
+    public CombinableReport newPartial() {
+        List<Report> partials = new ArrayList<>(reports.size());
+        for (Report report : reports) {
+            partials.add(((CombinableReport) report).newPartial());
+        }
+        return new CompositeReport(partials);
+    }
+
+    @Override
+    public void combine(CombinableReport partial) {
+        CompositeReport compositePartial = (CompositeReport) partial;
+        for (int i = 0; i < reports.size(); i++) {
+            ((CombinableReport) reports.get(i)).combine((CombinableReport) compositePartial.reports.get(i));
+        }
+    }
+}
@@ -0,0 +1,67 @@
+package reports;
+
+import services.Product;
+
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * Base of reports selecting products by criteria. Selected products are collected in list, or - if report is created
+ * with {@link ReportSink} - pushed to the sink as soon as they are found, so they are never materialized together.
+ * Sink can stop the report early.
+ * <p>
+ * Report with sink is visited sequentially, so sink gets products in order of visiting.
+ */
+public abstract class CriteriaReport implements CombinableReport {
+    private final List<Product> productsWithCriteria;
+    private final ReportSink sink;
+    private boolean finished;
+
+    protected CriteriaReport() {
+        this.productsWithCriteria = new ArrayList<>();
+        this.sink = null;
+    }
+
+    protected CriteriaReport(ReportSink sink) {
+        this.productsWithCriteria = new ArrayList<>();
+        this.sink = sink;
+    }
+
+    /**
+     * Adding product meeting criteria
+     *
+     * @param product product
+     */
+    protected void addProduct(Product product) {
+        if (sink == null) {
+            productsWithCriteria.add(product);
+        } else if (!finished && !sink.push(product)) {
+            finished = true;
+        }
+    }
+
+    /**
+     * Getter
+     *
+     * @return products meeting criteria, empty if they are pushed to sink
+     */
+    @Override
+    public List<Product> getProductsWithCriteria() {
+        return productsWithCriteria;
+    }
+
+    @Override
+    public boolean isFinished() {
+        return finished;
+    }
+
+    @Override
+    public boolean canCombine() {
+        return sink == null;
+    }
+
+    @Override
+    public void combine(CombinableReport partial) {
+        productsWithCriteria.addAll(partial.getProductsWithCriteria());
+    }
+}
@@ -0,0 +1,101 @@
+package reports;
+
+import services.Product;
+
+import java.util.List;
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.RecursiveAction;
+
+/**
+ * Running report over products in fork/join pool. Products are split in halves until part is small enough, every part
+ * is visited by its own partial report confined to the worker running it, and partial reports are combined in order
+ * of products, once, after all parts are done. Report not implementing {@link CombinableReport} (or which cannot be
+ * combined) is visited sequentially.
+ */
+public class ParallelReportExecutor {
+    public static final int DEFAULT_THRESHOLD = 4096;
+
+    private final ForkJoinPool pool;
+    private final int threshold;
+
+    public ParallelReportExecutor() {
+        this(ForkJoinPool.commonPool(), DEFAULT_THRESHOLD);
+    }
+
+    /**
+     * Constructor
+     *
+     * @param pool      pool running the report
+     * @param threshold max number of products visited by one task
+     */
+    public ParallelReportExecutor(ForkJoinPool pool, int threshold) {
+        if (threshold < 1) {
+            throw new IllegalArgumentException("Threshold must be positive");
+        }
+        this.pool = pool;
+        this.threshold = threshold;
+    }
+
+    /**
+     * Visiting products with report
+     *
+     * @param report   report, it contains results afterwards
+     * @param products products to visit
+     * @return report
+     */
+    public Report execute(Report report, List<? extends Product> products) {
+        if (!(report instanceof CombinableReport) || !((CombinableReport) report).canCombine() || products.size() <= threshold) {
+            visit(report, products, 0, products.size());
+            return report;
+        }
+        CombinableReport combinableReport = (CombinableReport) report;
+        int parts = (products.size() + threshold - 1) / threshold;
+        CombinableReport[] partials = new CombinableReport[parts];
+        pool.invoke(new ReportTask(combinableReport, products, partials, 0, parts));
+        // combining once at the end copies every result only once
+        for (CombinableReport partial : partials) {
+            combinableReport.combine(partial);
+        }
+        return report;
+    }
+
+    private static void visit(Report report, List<? extends Product> products, int from, int to) {
+        for (int i = from; i < to && !report.isFinished(); i++) {
+            products.get(i).accept(report);
+        }
+    }
+
+    /**
+     * Visiting range of parts of products
+     */
+    @SuppressWarnings("serial")
+    private class ReportTask extends RecursiveAction {
+        private final CombinableReport prototype;
+        private final List<? extends Product> products;
+        private final CombinableReport[] partials;
+        private final int fromPart;
+        private final int toPart;
+
+        ReportTask(CombinableReport prototype, List<? extends Product> products, CombinableReport[] partials, int fromPart, int toPart) {
+            this.prototype = prototype;
+            this.products = products;
+            this.partials = partials;
+            this.fromPart = fromPart;
+            this.toPart = toPart;
+        }
+
+        @Override
+        protected void compute() {
+            if (toPart - fromPart == 1) {
+                CombinableReport partial = prototype.newPartial();
+                int from = fromPart * threshold;
+                visit(partial, products, from, Math.min(products.size(), from + threshold));
+                partials[fromPart] = partial;
+                return;
+            }
+            int middle = (fromPart + toPart) >>> 1;
+            invokeAll(new ReportTask(prototype, products, partials, fromPart, middle),
+                    new ReportTask(prototype, products, partials, middle, toPart));
+        }
+    }
+}
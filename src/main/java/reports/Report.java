@@ -10,4 +10,13 @@ public interface Report {
     void visit(DebetAccountDecorator debetAccountDecorator);
     void visit(Deposit deposit);
     List<Product> getProductsWithCriteria();
+
+    /**
+     * Checking if report does not need more products, e.g. its sink has received enough of them
+     *
+     * @return true if visiting can stop
+     */
+    default boolean isFinished() {
+        return false;
+    }
 }
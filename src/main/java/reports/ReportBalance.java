@@ -2,59 +2,71 @@ package reports;
 
 import services.*;
 
-import java.util.ArrayList;
-import java.util.List;
+public class ReportBalance extends CriteriaReport {
 
-public class ReportBalance implements Report {
-
-    private List<Product> productsWithCriteria;
-    private double criteriaBalance;
+    private long criteriaBalance; // in grosze
 
 
     public ReportBalance(double balance)
     {
-        productsWithCriteria = new ArrayList<>();
-        criteriaBalance = balance;
+        criteriaBalance = Money.fromZloty(balance);
+    }
+
+    /**
+     * Creating report pushing products to sink instead of collecting them
+     *
+     * @param balance minimum balance
+     * @param sink    receiver of products
+     */
+    public ReportBalance(double balance, ReportSink sink)
+    {
+        super(sink);
+        criteriaBalance = Money.fromZloty(balance);
+    }
+
+    private ReportBalance(ReportBalance prototype)
+    {
+        criteriaBalance = prototype.criteriaBalance;
     }
 
     @Override
     public void visit(BankAccount bankAccount)
     {
-        if(bankAccount.getBalance() > criteriaBalance)
+        if(bankAccount.getBalanceGrosze() > criteriaBalance)
         {
-            productsWithCriteria.add(bankAccount);
+            addProduct(bankAccount);
         }
     }
 
     @Override
     public void visit(Credit credit)
     {
-        if(Math.abs(credit.getBalance()) > criteriaBalance)
+        if(Math.abs(credit.getBalanceGrosze()) > criteriaBalance)
         {
-            productsWithCriteria.add(credit);
+            addProduct(credit);
         }
     }
 
     @Override
     public void visit(DebetAccountDecorator debetAccountDecorator)
     {
-        if(debetAccountDecorator.getBalance() > criteriaBalance)
+        if(debetAccountDecorator.getBalanceGrosze() > criteriaBalance)
         {
-            productsWithCriteria.add(debetAccountDecorator);
+            addProduct(debetAccountDecorator);
         }
     }
 
     @Override
     public void visit(Deposit deposit)
     {
-        if(deposit.getBalance() > criteriaBalance)
+        if(deposit.getBalanceGrosze() > criteriaBalance)
         {
-            productsWithCriteria.add(deposit);
+            addProduct(deposit);
         }
     }
 
     @Override
-    public List<Product> getProductsWithCriteria() {
-        return productsWithCriteria;
+    public CombinableReport newPartial() {
+        return new ReportBalance(this);
     }
 }
@@ -3,22 +3,30 @@ package reports;
 import services.*;
 
 import java.time.LocalDate;
-import java.util.ArrayList;
 import java.util.Date;
-import java.util.List;
 
 /**
  * Class filter accounts by date when main account was created, for account type ConnectedAccount it is date of created parent account. For account type BankAccount or DebetAccountDecorator is the date they were created.
  */
-public class ReportCreateMainAccountDate implements Report{
+public class ReportCreateMainAccountDate extends CriteriaReport {
 
-    private List<Product> productsWithCriteria;
     private LocalDate dateCriteria;
 
 
     public ReportCreateMainAccountDate(LocalDate date)
     {
-        productsWithCriteria = new ArrayList<>();
+        dateCriteria = date;
+    }
+
+    /**
+     * Creating report pushing products to sink instead of collecting them
+     *
+     * @param date date of creation
+     * @param sink receiver of products
+     */
+    public ReportCreateMainAccountDate(LocalDate date, ReportSink sink)
+    {
+        super(sink);
         dateCriteria = date;
     }
 
@@ -26,7 +34,7 @@ public class ReportCreateMainAccountDate implements Report{
     public void visit(BankAccount bankAccount) {
         if(bankAccount.getLocalDate().isBefore(dateCriteria))
         {
-            productsWithCriteria.add(bankAccount);
+            addProduct(bankAccount);
         }
     }
 
@@ -34,7 +42,7 @@ public class ReportCreateMainAccountDate implements Report{
     public void visit(Credit credit) {
         if(credit.getBankAccount().getLocalDate().isBefore(dateCriteria))
         {
-            productsWithCriteria.add(credit);
+            addProduct(credit);
         }
     }
 
@@ -42,7 +50,7 @@ public class ReportCreateMainAccountDate implements Report{
     public void visit(DebetAccountDecorator debetAccountDecorator) {
         if(debetAccountDecorator.getLocalDate().isBefore(dateCriteria))
         {
-            productsWithCriteria.add(debetAccountDecorator);
+            addProduct(debetAccountDecorator);
         }
     }
 
@@ -50,12 +58,12 @@ public class ReportCreateMainAccountDate implements Report{
     public void visit(Deposit deposit) {
         if(deposit.getBankAccount().getLocalDate().isBefore(dateCriteria))
         {
-            productsWithCriteria.add(deposit);
+            addProduct(deposit);
         }
     }
 
     @Override
-    public List<Product> getProductsWithCriteria() {
-        return productsWithCriteria;
+    public CombinableReport newPartial() {
+        return new ReportCreateMainAccountDate(dateCriteria);
     }
 }
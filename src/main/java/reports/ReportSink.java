@@ -0,0 +1,17 @@
+package reports;
+
+import services.Product;
+
+/**
+ * Receiver of products meeting criteria of report, getting them one by one while report is running
+ */
+@FunctionalInterface
+public interface ReportSink {
+    /**
+     * Receiving product
+     *
+     * @param product product meeting criteria
+     * @return false if report should stop, e.g. enough products have been received
+     */
+    boolean push(Product product);
+}
@@ -0,0 +1,73 @@
+package services;
+
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * Balance in grosze which can be changed by many threads without locks. Every change is one compare-and-set,
+ * so check of the bound and update of the value cannot be interleaved with other change.
+ */
+public class BalanceCell {
+    private final AtomicLong grosze;
+
+    public BalanceCell(long grosze) {
+        this.grosze = new AtomicLong(grosze);
+    }
+
+    /**
+     * Getter
+     *
+     * @return current balance in grosze
+     */
+    public long get() {
+        return grosze.get();
+    }
+
+    /**
+     * Adding value to balance without any bound
+     *
+     * @param value value in grosze added to balance, can be negative
+     */
+    public void add(long value) {
+        grosze.addAndGet(value);
+    }
+
+    /**
+     * Increasing balance if it does not exceed ceiling afterwards
+     *
+     * @param value   value in grosze added to balance
+     * @param ceiling max balance after operation
+     * @return true if balance was changed
+     */
+    public boolean increase(long value, long ceiling) {
+        long current;
+        long updated;
+        do {
+            current = grosze.get();
+            updated = current + value;
+            if (updated > ceiling) {
+                return false;
+            }
+        } while (!grosze.compareAndSet(current, updated));
+        return true;
+    }
+
+    /**
+     * Decreasing balance if it does not go below floor afterwards
+     *
+     * @param value value in grosze subtracted from balance
+     * @param floor min balance after operation
+     * @return true if balance was changed
+     */
+    public boolean decrease(long value, long floor) {
+        long current;
+        long updated;
+        do {
+            current = grosze.get();
+            updated = current - value;
+            if (updated < floor) {
+                return false;
+            }
+        } while (!grosze.compareAndSet(current, updated));
+        return true;
+    }
+}
@@ -0,0 +1,13 @@
+package services;
+
+/**
+ * Listener notified after every change of product balance, e.g. by index of balances
+ */
+public interface BalanceListener {
+    /**
+     * Balance of product has changed
+     *
+     * @param productId id of product
+     */
+    void balanceChanged(int productId);
+}
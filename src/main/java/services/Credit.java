@@ -17,17 +17,14 @@ public class Credit extends ConnectedAccount {
     }
 
     /**
-     * Increasing balance
+     * Increasing balance, credit's balance cannot be positive
      *
-     * @param value value added to balance
+     * @param value value in grosze added to balance
      * @return feedback of the success of the operation
      */
     @Override
-    public boolean increaseBalance(double value) {
-        if (balance + value > 0)
-            return false;
-        balance += value;
-        return true;
+    public boolean increaseBalanceGrosze(long value) {
+        return balanceChanged(balance.increase(value, 0));
     }
 
     @Override
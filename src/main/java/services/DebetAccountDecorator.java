@@ -8,17 +8,24 @@ import reports.Report;
 import java.time.LocalDate;
 import java.util.List;
 
+/**
+ * Account with debet. Debet is kept as negative balance of decorated account, so check of balance, limit and debet
+ * and the update are one atomic change of that balance.
+ */
 public class DebetAccountDecorator implements Product, Cloneable
 {
-    private double limit; // it has minus value and it is max debet value
-    private double debet;
+    private final long limit; // max debet value in grosze
     private Product bankAccount;
 
 
     public DebetAccountDecorator(double limit, double debet, Product bankAccount){
-        this.limit = limit;
-        this.debet = debet;
+        this.limit = Money.fromZloty(limit);
         this.bankAccount = bankAccount;
+        if(debet > 0)
+        {
+            // initial debet is not bounded by limit
+            bankAccount.decreaseBalanceWithLimitGrosze(Money.fromZloty(debet), Long.MAX_VALUE);
+        }
 //        try {
 //            this.bankAccount = (Product) bankAccount.clone();
 //        } catch(CloneNotSupportedException er)
@@ -27,51 +34,39 @@ public class DebetAccountDecorator implements Product, Cloneable
 //        }
     }
 
+    /**
+     * Getter
+     *
+     * @return max debet value
+     */
+    public double getLimit() {
+        return Money.toZloty(limit);
+    }
+
+    /**
+     * Getter
+     *
+     * @return current debet, 0 if balance is not negative
+     */
+    public double getDebet() {
+        return Money.toZloty(Math.max(0, -bankAccount.getBalanceGrosze()));
+    }
+
     @Override
-    public boolean increaseBalance(double value) {
-        if(debet > 0)
-        {
-            if(debet > value)
-            {
-                debet -= value;
-                return true;
-            }
-            else
-            {
-                value -= debet;
-                return bankAccount.increaseBalance(value);
-            }
-        }
-        else
-        {
-            return bankAccount.increaseBalance(value);
-        }
+    public boolean increaseBalanceGrosze(long value) {
+        // paying money in covers debet first
+        return bankAccount.increaseBalanceGrosze(value);
     }
 
 
     @Override
-    public boolean decreaseBalance(double value) {
-        double balance = bankAccount.getBalance();
-        if(balance + limit - debet >= value)
-        {
-            if(balance >= value)
-            {
-                return bankAccount.decreaseBalance(value);
-            }
-            else
-            {
-                if(balance > 0) {
-                    bankAccount.decreaseBalance(balance);
-                    value -= balance;
-                }
-                debet += value;
-                return true;
-            }
-        }
-        else
-        {
-            return false;
-        }
+    public boolean decreaseBalanceGrosze(long value) {
+        return bankAccount.decreaseBalanceWithLimitGrosze(value, limit);
+    }
+
+    @Override
+    public boolean decreaseBalanceWithLimitGrosze(long value, long limit) {
+        return bankAccount.decreaseBalanceWithLimitGrosze(value, Math.max(this.limit, limit));
     }
 
     @Override
@@ -95,13 +90,13 @@ public class DebetAccountDecorator implements Product, Cloneable
     }
 
     @Override
-    public double getInterests() {
-        return bankAccount.getInterests();
+    public long getInterestsGrosze() {
+        return bankAccount.getInterestsGrosze();
     }
 
     @Override
-    public double getBalance() {
-        return bankAccount.getBalance() - debet;
+    public long getBalanceGrosze() {
+        return bankAccount.getBalanceGrosze();
     }
 
     @Override
@@ -124,4 +119,10 @@ public class DebetAccountDecorator implements Product, Cloneable
     {
         report.visit(this);
     }
+
+    @Override
+    public void setBalanceListener(BalanceListener balanceListener) {
+        // balance is kept by decorated account
+        bankAccount.setBalanceListener(balanceListener);
+    }
 }
\ No newline at end of file
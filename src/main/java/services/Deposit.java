@@ -38,13 +38,32 @@ public class Deposit extends ConnectedAccount {
         this.duration = duration;
     }
 
+    /**
+     * Getter
+     *
+     * @return first day on which deposit is expired
+     */
+    public LocalDate getMaturityDate() {
+        return getLocalDate().plusMonths(getDuration()).plusDays(1);
+    }
+
     /**
      * checking if deposit has already expired
      *
      * @return true if deposit has expired
      */
     public boolean isExpired() {
-        return getLocalDate().plusMonths(getDuration()).isBefore(LocalDate.now());
+        return isExpired(LocalDate.now());
+    }
+
+    /**
+     * checking if deposit is expired on given day
+     *
+     * @param date day of check
+     * @return true if deposit has expired
+     */
+    public boolean isExpired(LocalDate date) {
+        return !date.isBefore(getMaturityDate());
     }
 
     @Override
@@ -0,0 +1,88 @@
+package services;
+
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * Generator of unique ids for many threads. Every thread takes from shared counter whole block of ids and then hands
+ * them out without any synchronization, so threads touch shared counter once per block.
+ * <p>
+ * Ids are long. Allocator can be reseeded with the highest id restored from persisted state, ids handed out
+ * afterwards are greater than it.
+ */
+public class IdAllocator {
+    private final AtomicLong nextFreeId;
+    private final int blockSize;
+    // even when allocator is stable, odd during reseed
+    private volatile long epoch;
+    private final ThreadLocal<Block> blocks;
+
+    /**
+     * Range of ids owned by one thread
+     */
+    private static class Block {
+        private long epoch = -1;
+        private long next;
+        private long end;
+    }
+
+    /**
+     * Constructor
+     *
+     * @param firstId   first id to hand out
+     * @param blockSize number of ids taken by thread at once
+     */
+    public IdAllocator(long firstId, int blockSize) {
+        if (blockSize < 1) {
+            throw new IllegalArgumentException("Block size must be positive");
+        }
+        this.nextFreeId = new AtomicLong(firstId);
+        this.blockSize = blockSize;
+        this.blocks = ThreadLocal.withInitial(Block::new);
+    }
+
+    /**
+     * Generating new unique id
+     *
+     * @return id
+     */
+    public long nextId() {
+        Block block = blocks.get();
+        if (block.next == block.end || block.epoch != epoch) {
+            takeBlock(block);
+        }
+        return block.next++;
+    }
+
+    private void takeBlock(Block block) {
+        long currentEpoch;
+        long start;
+        do {
+            currentEpoch = epoch;
+            start = nextFreeId.getAndAdd(blockSize);
+            // block taken while reseed was in progress may be below the new seed
+        } while ((currentEpoch & 1) != 0 || currentEpoch != epoch);
+        block.epoch = currentEpoch;
+        block.next = start;
+        block.end = start + blockSize;
+    }
+
+    /**
+     * Reseeding allocator, e.g. after restart. Blocks taken earlier by threads are dropped.
+     *
+     * @param highestUsedId highest id which has already been used
+     */
+    public synchronized void reseed(long highestUsedId) {
+        epoch++;
+        nextFreeId.accumulateAndGet(highestUsedId + 1, Math::max);
+        epoch++;
+    }
+
+    /**
+     * Getting state which should be persisted - every id handed out so far is lower than it
+     *
+     * @return high water mark of allocator
+     */
+    public long getHighWaterMark() {
+        return nextFreeId.get();
+    }
+}
@@ -1,22 +1,72 @@
 package services;
 
+/**
+ * Generator of ids of services, banks and clients. Ids are taken from {@link IdAllocator}, so creating objects in many
+ * threads does not produce duplicates and does not serialize on one lock.
+ * <p>
+ * Allocators work on long ranges, but ids are still int in the bank API, so range of ids is still 2^31 and blocks
+ * dropped by threads or by reseed use it up faster. Narrowing throws {@link ArithmeticException} instead of silently
+ * wrapping around to ids already in use.
+ * TODO - widen ids to long in the bank API, indexes and ACKs, then return long here
+ */
 public class IdGenerator {
-    private static int serviceId = 0;
-    private static int bankId = 0;
-    private static int clientId = 0;
+    private static final int SERVICE_ID_BLOCK_SIZE = 1024;
+    private static final int BANK_ID_BLOCK_SIZE = 1;
+    private static final int CLIENT_ID_BLOCK_SIZE = 256;
+
+    private static final IdAllocator serviceIds = new IdAllocator(1, SERVICE_ID_BLOCK_SIZE);
+    private static final IdAllocator bankIds = new IdAllocator(1, BANK_ID_BLOCK_SIZE);
+    private static final IdAllocator clientIds = new IdAllocator(1, CLIENT_ID_BLOCK_SIZE);
 
     public static int generateServiceId() {
-        serviceId++;
-        return serviceId;
+        return Math.toIntExact(serviceIds.nextId());
     }
 
     public static int generateBankId() {
-        bankId++;
-        return bankId;
+        return Math.toIntExact(bankIds.nextId());
     }
 
     public static int generateClientId() {
-        clientId++;
-        return clientId;
+        return Math.toIntExact(clientIds.nextId());
+    }
+
+    /**
+     * Reseeding generators with highest ids restored from persisted state, e.g. after restart
+     *
+     * @param lastServiceId highest service id in use
+     * @param lastBankId    highest bank id in use
+     * @param lastClientId  highest client id in use
+     */
+    public static void reseed(long lastServiceId, long lastBankId, long lastClientId) {
+        serviceIds.reseed(lastServiceId);
+        bankIds.reseed(lastBankId);
+        clientIds.reseed(lastClientId);
+    }
+
+    /**
+     * Getter
+     *
+     * @return allocator of service ids, its high water mark should be persisted
+     */
+    public static IdAllocator getServiceIds() {
+        return serviceIds;
+    }
+
+    /**
+     * Getter
+     *
+     * @return allocator of bank ids, its high water mark should be persisted
+     */
+    public static IdAllocator getBankIds() {
+        return bankIds;
+    }
+
+    /**
+     * Getter
+     *
+     * @return allocator of client ids, its high water mark should be persisted
+     */
+    public static IdAllocator getClientIds() {
+        return clientIds;
     }
 }
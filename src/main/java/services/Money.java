@@ -0,0 +1,59 @@
+package services;
+
+/**
+ * Money is kept as long number of grosze (1/100 of zloty), so sums are exact and balance fits in one atomic long.
+ * Public API of the bank still takes zloty as double - values are converted here once, at the boundary.
+ */
+public final class Money {
+    public static final long GROSZE_IN_ZLOTY = 100;
+    public static final long BASIS_POINTS = 10_000;
+
+    private Money() {
+    }
+
+    /**
+     * Converting zloty to grosze, rounding half away from zero
+     *
+     * @param zloty value in zloty
+     * @return value in grosze
+     */
+    public static long fromZloty(double zloty) {
+        // Math.round rounds half up, so it is applied to magnitude only
+        long grosze = Math.round(Math.abs(zloty) * GROSZE_IN_ZLOTY);
+        return zloty < 0 ? -grosze : grosze;
+    }
+
+    /**
+     * Converting grosze to zloty
+     *
+     * @param grosze value in grosze
+     * @return value in zloty
+     */
+    public static double toZloty(long grosze) {
+        return (double) grosze / GROSZE_IN_ZLOTY;
+    }
+
+    /**
+     * Calculating percentage of amount, rounding half away from zero
+     *
+     * @param grosze      amount in grosze
+     * @param basisPoints rate in 1/100 of percent, e.g. 300 is 3%
+     * @return percentage of amount in grosze
+     * @throws ArithmeticException if amount multiplied by rate overflows long
+     */
+    public static long percentage(long grosze, long basisPoints) {
+        return divideRounded(Math.multiplyExact(grosze, basisPoints), BASIS_POINTS);
+    }
+
+    /**
+     * Dividing with rounding half away from zero
+     *
+     * @param dividend dividend
+     * @param divisor  positive divisor
+     * @return rounded quotient
+     */
+    public static long divideRounded(long dividend, long divisor) {
+        long half = divisor / 2;
+        return dividend >= 0 ? (dividend + half) / divisor : (dividend - half) / divisor;
+    }
+}
@@ -11,18 +11,47 @@ public interface Product /*extends Cloneable*/ {
     /**
      * Increasing balance
      *
-     * @param value value added to balance
+     * @param value value in zloty added to balance
      * @return feedback of the success of the operation
      */
-    public boolean increaseBalance(double value);
+    public default boolean increaseBalance(double value) {
+        return increaseBalanceGrosze(Money.fromZloty(value));
+    }
+
+    /**
+     * Increasing balance
+     *
+     * @param value value in grosze added to balance
+     * @return feedback of the success of the operation
+     */
+    public boolean increaseBalanceGrosze(long value);
+
+    /**
+     * Decreasing balance, considering kind of account
+     *
+     * @param value value in zloty subtracted from balance
+     * @return feedback of the success of the operation
+     */
+    public default boolean decreaseBalance(double value) {
+        return decreaseBalanceGrosze(Money.fromZloty(value));
+    }
 
     /**
      * Decreasing balance, considering kind of account
      *
-     * @param value value subtracted from balance
+     * @param value value in grosze subtracted from balance
      * @return feedback of the success of the operation
      */
-    public boolean decreaseBalance(double value);
+    public boolean decreaseBalanceGrosze(long value);
+
+    /**
+     * Decreasing balance, allowing it to go below zero, but not below -limit
+     *
+     * @param value value in grosze subtracted from balance
+     * @param limit max debet in grosze
+     * @return feedback of the success of the operation
+     */
+    public boolean decreaseBalanceWithLimitGrosze(long value, long limit);
 
     /**
      * Getter
@@ -42,9 +71,17 @@ public interface Product /*extends Cloneable*/ {
 
     public void setInterestsMechanism(InterestsMechanism interestsMechanism);
 
-    public double getInterests();
+    public default double getInterests() {
+        return Money.toZloty(getInterestsGrosze());
+    }
+
+    public long getInterestsGrosze();
 
-    public double getBalance();
+    public default double getBalance() {
+        return Money.toZloty(getBalanceGrosze());
+    }
+
+    public long getBalanceGrosze();
 
     public LocalDate getLocalDate();
 
@@ -54,4 +91,12 @@ public interface Product /*extends Cloneable*/ {
 
     public void accept(Report report);
 
+    /**
+     * Setting listener notified after every change of balance
+     *
+     * @param balanceListener listener, null removes it
+     */
+    public default void setBalanceListener(BalanceListener balanceListener) {
+    }
+
 }
\ No newline at end of file
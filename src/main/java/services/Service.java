@@ -13,16 +13,17 @@ public abstract class Service implements Product {
     protected History history; // history of this service
     private int id; // id this service object
     protected boolean canBeNegative; // information if the value can be negative
-    protected double balance; // balance
+    protected BalanceCell balance; // balance, changed atomically
     protected int ownerId; // owner id - client id
     private LocalDate localDate;
     double percentage;
     protected InterestsMechanism interestsMechanism;
+    private volatile BalanceListener balanceListener;
 
     public Service(int ownerId) {
         id = IdGenerator.generateServiceId();
-        balance = 0;
-        history = new History();
+        balance = new BalanceCell(0);
+        history = History.forAccount();
         this.ownerId = ownerId;
         this.percentage = percentage;
         localDate = LocalDate.now();
@@ -32,8 +33,8 @@ public abstract class Service implements Product {
 
     public Service(double balance, int ownerId, InterestsMechanism interestsMechanism) {
         id = IdGenerator.generateServiceId();
-        this.balance = balance;
-        history = new History();
+        this.balance = new BalanceCell(Money.fromZloty(balance));
+        history = History.forAccount();
         this.ownerId = ownerId;
         this.percentage = percentage;
         localDate = LocalDate.now();
@@ -54,9 +55,9 @@ public abstract class Service implements Product {
     }
 
     @Override
-    public double getInterests()
+    public long getInterestsGrosze()
     {
-        return interestsMechanism.interests(this);
+        return interestsMechanism.interestsGrosze(this);
     }
     /**
      * Getter
@@ -83,11 +84,11 @@ public abstract class Service implements Product {
     /**
      * Getter
      *
-     * @return balance of this service
+     * @return balance of this service in grosze
      */
     @Override
-    public double getBalance() {
-        return balance;
+    public long getBalanceGrosze() {
+        return balance.get();
     }
 
     /**
@@ -103,28 +104,70 @@ public abstract class Service implements Product {
     /**
      * Increasing balance
      *
-     * @param value value added to balance
+     * @param value value in grosze added to balance
      * @return feedback of the success of the operation
      */
     @Override
-    public boolean increaseBalance(double value) {
-        balance += value;
+    public boolean increaseBalanceGrosze(long value) {
+        balance.add(value);
+        balanceChanged();
         return true;
     }
 
     /**
      * Decreasing balance, considering kind of account
      *
-     * @param value value subtracted from balance
+     * @param value value in grosze subtracted from balance
      * @return feedback of the success of the operation
      */
     @Override
-    public boolean decreaseBalance(double value) {
-        if (balance - value < 0 && canBeNegative == false) {
-            return false;
+    public boolean decreaseBalanceGrosze(long value) {
+        if (canBeNegative) {
+            balance.add(-value);
+            balanceChanged();
+            return true;
         }
-        balance -= value;
-        return true;
+        return balanceChanged(balance.decrease(value, 0));
+    }
+
+    /**
+     * Decreasing balance, allowing it to go below zero, but not below -limit
+     *
+     * @param value value in grosze subtracted from balance
+     * @param limit max debet in grosze
+     * @return feedback of the success of the operation
+     */
+    @Override
+    public boolean decreaseBalanceWithLimitGrosze(long value, long limit) {
+        return balanceChanged(balance.decrease(value, -limit));
+    }
+
+    @Override
+    public void setBalanceListener(BalanceListener balanceListener) {
+        this.balanceListener = balanceListener;
+    }
+
+    /**
+     * Notifying listener about change of balance
+     */
+    protected void balanceChanged() {
+        BalanceListener listener = balanceListener;
+        if (listener != null) {
+            listener.balanceChanged(id);
+        }
+    }
+
+    /**
+     * Notifying listener if balance has been changed
+     *
+     * @param changed result of balance change
+     * @return result of balance change
+     */
+    protected boolean balanceChanged(boolean changed) {
+        if (changed) {
+            balanceChanged();
+        }
+        return changed;
     }
 
     /**
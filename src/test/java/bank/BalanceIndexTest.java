@@ -0,0 +1,101 @@
+package bank;
+
+import interests.InterestA;
+import org.junit.Assert;
+import org.junit.Test;
+import services.BankAccount;
+import services.Credit;
+import services.DebetAccountDecorator;
+import services.Product;
+
+import java.util.ArrayList;
+import java.util.List;
+
+import static org.hamcrest.core.Is.is;
+
+public class BalanceIndexTest {
+
+    @Test
+    public void indexFollowsBalanceChangesTest()
+    {
+        BalanceIndex balanceIndex = new BalanceIndex();
+        BankAccount first = new BankAccount(100, 0, new InterestA());
+        BankAccount second = new BankAccount(200, 0, new InterestA());
+        balanceIndex.add(first);
+        balanceIndex.add(second);
+
+        Assert.assertThat(balanceIndex.greaterThan(15_000).size(), is(1));
+        first.increaseBalance(500);
+        List<Product> products = balanceIndex.greaterThan(15_000);
+        Assert.assertThat(products.size(), is(2));
+        Assert.assertThat(products.get(0) == second, is(true));
+        Assert.assertThat(products.get(1) == first, is(true));
+
+        Assert.assertThat(balanceIndex.top(1).get(0) == first, is(true));
+        Assert.assertThat(balanceIndex.between(20_000, 20_000).get(0) == second, is(true));
+    }
+
+    @Test
+    public void creditIsIndexedByAbsoluteBalanceTest()
+    {
+        BalanceIndex balanceIndex = new BalanceIndex();
+        BankAccount bankAccount = new BankAccount(0, 0, new InterestA());
+        Credit credit = new Credit(bankAccount, -1_000, 0, new InterestA());
+        balanceIndex.add(credit);
+        Assert.assertThat(balanceIndex.greaterThan(50_000).size(), is(1));
+        credit.increaseBalance(600);
+        Assert.assertThat(balanceIndex.greaterThan(50_000).size(), is(0));
+    }
+
+    @Test
+    public void removedProductIsNotIndexedTest()
+    {
+        BalanceIndex balanceIndex = new BalanceIndex();
+        BankAccount bankAccount = new BankAccount(100, 0, new InterestA());
+        balanceIndex.add(bankAccount);
+        balanceIndex.remove(bankAccount);
+        bankAccount.increaseBalance(100);
+        Assert.assertThat(balanceIndex.size(), is(0));
+        Assert.assertThat(balanceIndex.top(10).size(), is(0));
+    }
+
+    @Test
+    public void replacedAccountTest()
+    {
+        BalanceIndex balanceIndex = new BalanceIndex();
+        BankAccount bankAccount = new BankAccount(100, 0, new InterestA());
+        balanceIndex.add(bankAccount);
+        DebetAccountDecorator debetAccount = new DebetAccountDecorator(1_000, 0, bankAccount);
+        balanceIndex.add(debetAccount);
+        debetAccount.decreaseBalance(300);
+
+        Assert.assertThat(balanceIndex.size(), is(1));
+        List<Product> products = balanceIndex.between(-20_000, -20_000);
+        Assert.assertThat(products.size(), is(1));
+        Assert.assertThat(products.get(0) == debetAccount, is(true));
+    }
+
+    @Test
+    public void concurrentChangesConvergeTest() throws InterruptedException
+    {
+        BalanceIndex balanceIndex = new BalanceIndex();
+        BankAccount bankAccount = new BankAccount(0, 0, new InterestA());
+        balanceIndex.add(bankAccount);
+        List<Thread> threads = new ArrayList<>();
+        for (int t = 0; t < 8; t++) {
+            threads.add(new Thread(() -> {
+                for (int i = 0; i < 5_000; i++) {
+                    bankAccount.increaseBalanceGrosze(1);
+                }
+            }));
+        }
+        for (Thread thread : threads) {
+            thread.start();
+        }
+        for (Thread thread : threads) {
+            thread.join();
+        }
+        Assert.assertThat(balanceIndex.between(40_000, 40_000).size(), is(1));
+        Assert.assertThat(balanceIndex.between(0, 39_999).size(), is(0));
+    }
+}
@@ -15,15 +15,25 @@ import org.junit.Before;
 import org.junit.Test;
 import services.BankAccount;
 import services.Credit;
+import services.DebetAccountDecorator;
 import services.Deposit;
+import reports.ReportBalance;
+import reports.ReportCreateMainAccountDate;
 import services.Product;
 
 import java.time.LocalDate;
+import java.util.ArrayList;
 import java.util.List;
+import java.util.Random;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.ScheduledExecutorService;
 
 import static org.hamcrest.core.Is.is;
 
 public class BankTest {
+    private PaymentSystemInfrastructure paymentSystemInfrastructure;
     private BankImpl bankA;
     private BankImpl bankB;
     private Client clientA;
@@ -31,7 +41,7 @@ public class BankTest {
 
     @Before
     public void initial() {
-        PaymentSystemInfrastructure paymentSystemInfrastructure = new PaymentSystemInfrastructure();
+        paymentSystemInfrastructure = new PaymentSystemInfrastructure();
         bankA = paymentSystemInfrastructure.createNewBank();
         bankB = paymentSystemInfrastructure.createNewBank();
         clientA = new Client("Jan", "Kowalski", "12345678912");
@@ -70,6 +80,36 @@ public class BankTest {
         Assert.assertFalse(ifSucceeded);
     }
 
+    @Test(expected = IllegalArgumentException.class)
+    public void newClientInvalidPeselTest() {
+        new Client("Test", "Test", "1234");
+    }
+
+    @Test
+    public void findClientByPeselTest() throws NoSuchClientException {
+        bankA.addNewClient(clientA);
+        bankA.addNewClient(clientB);
+
+        Assert.assertThat(bankA.findClientByPesel(clientB.getPesel()), is(clientB));
+    }
+
+    @Test(expected = NoSuchClientException.class)
+    public void findClientByPeselAfterDeleteTest() throws NoSuchClientException {
+        bankA.addNewClient(clientA);
+        bankA.deleteClientById(clientA.getId());
+
+        bankA.findClientByPesel(clientA.getPesel());
+    }
+
+    @Test
+    public void addNewClientWithPeselOfDeletedClientTest() throws NoSuchClientException {
+        bankA.addNewClient(clientA);
+        bankA.deleteClientById(clientA.getId());
+        boolean ifSucceeded = bankA.addNewClient(new Client("Test", "Test", clientA.getPesel()));
+
+        Assert.assertTrue(ifSucceeded);
+    }
+
     @Test
     public void addNewClientTest() throws NoSuchClientException {
         bankA.addNewClient(clientA);
@@ -92,6 +132,56 @@ public class BankTest {
         Assert.assertTrue(ifSucceeded);
     }
 
+    @Test
+    public void deleteClientWithProductsTest() throws NoSuchClientException {
+        bankA.addNewClient(clientA);
+        bankA.addNewNormalAccount(clientA.getId());
+        boolean ifSucceeded = bankA.deleteClientById(clientA.getId());
+
+        Assert.assertFalse(ifSucceeded);
+        Assert.assertThat(bankA.getClients().size(), is(1));
+    }
+
+    @Test
+    public void getClientPortfolioTest() throws NoSuchClientException, NoSuchAccountException, NoSuchCreditException {
+        bankA.addNewClient(clientA);
+        bankA.addNewClient(clientB);
+        bankA.addNewNormalAccount(clientA.getId());
+        bankA.addNewNormalAccount(clientB.getId());
+        int accountId = bankA.getBankAccounts().get(0).getId();
+        bankA.payment(accountId, 10_000);
+        bankA.addNewCredit(accountId, 1_000, clientA.getId(), new InterestA());
+        bankA.addNewCredit(accountId, 2_000, clientA.getId(), new InterestA());
+        bankA.addNewDeposit(accountId, 5_000, clientA.getId(), 2, new InterestA());
+        bankA.deleteCreditById(bankA.getCredits().get(0).getId());
+        bankA.makeAccountDebet(accountId, 1_000, 0);
+
+        ClientPortfolio portfolio = bankA.getClientPortfolio(clientA.getId());
+        Assert.assertThat(portfolio.getBankAccounts().size(), is(1));
+        Assert.assertTrue(portfolio.getBankAccounts().get(0) instanceof DebetAccountDecorator);
+        Assert.assertThat(portfolio.getCredits().size(), is(1));
+        Assert.assertThat(portfolio.getDeposits().size(), is(1));
+        Assert.assertThat(portfolio.getProducts().size(), is(3));
+        Assert.assertThat(bankA.getClientPortfolio(clientB.getId()).size(), is(1));
+    }
+
+    @Test
+    public void getClientPortfolioSnapshotTest() throws NoSuchClientException {
+        bankA.addNewClient(clientA);
+        bankA.addNewNormalAccount(clientA.getId());
+
+        ClientPortfolio portfolio = bankA.getClientPortfolio(clientA.getId());
+        bankA.addNewNormalAccount(clientA.getId());
+
+        Assert.assertThat(portfolio.getBankAccounts().size(), is(1));
+        Assert.assertThat(bankA.getClientPortfolio(clientA.getId()).getBankAccounts().size(), is(2));
+    }
+
+    @Test(expected = NoSuchClientException.class)
+    public void getClientPortfolioNotExistingTest() throws NoSuchClientException {
+        bankA.getClientPortfolio(1000);
+    }
+
     @Test
     public void deleteClientByIdNotExistingTest() throws NoSuchClientException {
         boolean ifSucceeded = bankA.deleteClientById(1000);
@@ -262,6 +352,44 @@ public class BankTest {
         Assert.assertEquals(bankAccountTo.getBalance(), 7_000, 0.1);
     }
 
+    @Test
+    public void concurrentTransfersKeepTotalBalanceTest() throws Exception {
+        bankA.addNewClient(clientA);
+        int accountsNumber = 16;
+        for (int i = 0; i < accountsNumber; i++) {
+            bankA.addNewNormalAccount(clientA.getId());
+            bankA.payment(bankA.getBankAccounts().get(i).getId(), 1_000);
+        }
+        int[] accountIds = bankA.getBankAccounts().stream().mapToInt(Product::getId).toArray();
+
+        ExecutorService executor = Executors.newFixedThreadPool(8);
+        List<Future<?>> futures = new ArrayList<>();
+        for (int t = 0; t < 8; t++) {
+            final int seed = t;
+            futures.add(executor.submit(() -> {
+                Random random = new Random(seed);
+                for (int i = 0; i < 2_000; i++) {
+                    int from = accountIds[random.nextInt(accountsNumber)];
+                    int to = accountIds[random.nextInt(accountsNumber)];
+                    bankA.transfer(from, to, 1 + random.nextInt(100));
+                }
+                return null;
+            }));
+        }
+        for (Future<?> future : futures) {
+            future.get();
+        }
+        executor.shutdown();
+
+        double total = 0;
+        for (int accountId : accountIds) {
+            double balance = bankA.getProductById(accountId).getBalance();
+            Assert.assertTrue(balance >= 0);
+            total += balance;
+        }
+        Assert.assertEquals(accountsNumber * 1_000, total, 0.001);
+    }
+
     @Test(expected = NoSuchAccountException.class)
     public void transferFromNotExistingAccountTest() throws NoSuchAccountException {
         bankA.transfer(999, 999, 10_000);
@@ -569,6 +697,78 @@ public class BankTest {
         Assert.assertThat(products.size(), is(5));
     }
 
+    @Test
+    public void getTopBankAccountsByBalanceTest() throws NoSuchClientException, NoSuchAccountException {
+        bankA.addNewClient(clientA);
+        bankA.addNewNormalAccount(clientA.getId());
+        bankA.addNewNormalAccount(clientA.getId());
+        bankA.addNewNormalAccount(clientA.getId());
+        int account1Id = bankA.getBankAccounts().get(0).getId();
+        int account2Id = bankA.getBankAccounts().get(1).getId();
+        int account3Id = bankA.getBankAccounts().get(2).getId();
+        bankA.payment(account1Id, 2_000);
+        bankA.payment(account2Id, 6_000);
+        bankA.payment(account3Id, 1_000);
+        bankA.transfer(account2Id, account3Id, 5_500);
+
+        List<Product> products = bankA.getTopBankAccountsByBalance(2);
+
+        Assert.assertThat(products.size(), is(2));
+        Assert.assertThat(products.get(0).getId(), is(account3Id));
+        Assert.assertThat(products.get(1).getId(), is(account1Id));
+        Assert.assertThat(bankA.getBankAccountsByBalanceBetween(500, 2_000).size(), is(2));
+    }
+
+    @Test
+    public void getProductsByReportTest() throws NoSuchClientException, NoSuchAccountException {
+        bankA.addNewClient(clientA);
+        bankA.addNewNormalAccount(clientA.getId());
+        bankA.addNewNormalAccount(clientA.getId());
+        int account1Id = bankA.getBankAccounts().get(0).getId();
+        int account2Id = bankA.getBankAccounts().get(1).getId();
+        bankA.payment(account1Id, 2_000);
+        bankA.payment(account2Id, 6_000);
+        bankA.addNewCredit(account1Id, 3_000, clientA.getId(), new InterestA());
+
+        List<Product> products = bankA.getProductsByReport(new ReportBalance(1_000));
+
+        Assert.assertThat(products.size(), is(bankA.getBankAccountsByBalance(1_000).size()));
+        Assert.assertThat(products.size(), is(3));
+    }
+
+    @Test
+    public void runReportsTest() throws NoSuchClientException, NoSuchAccountException {
+        bankA.addNewClient(clientA);
+        bankA.addNewNormalAccount(clientA.getId());
+        bankA.addNewNormalAccount(clientA.getId());
+        int account1Id = bankA.getBankAccounts().get(0).getId();
+        bankA.payment(account1Id, 2_000);
+        ReportBalance reportBalance = new ReportBalance(1_000);
+        ReportCreateMainAccountDate reportDate = new ReportCreateMainAccountDate(LocalDate.now().plusDays(1));
+
+        bankA.runReports(reportBalance, reportDate);
+
+        Assert.assertThat(reportBalance.getProductsWithCriteria().size(), is(1));
+        Assert.assertThat(reportDate.getProductsWithCriteria().size(), is(2));
+    }
+
+    @Test
+    public void getBankAccountsByBalancePagedTest() throws NoSuchClientException, NoSuchAccountException {
+        bankA.addNewClient(clientA);
+        for (int i = 0; i < 5; i++) {
+            bankA.addNewNormalAccount(clientA.getId());
+            bankA.payment(bankA.getBankAccounts().get(i).getId(), 1_000 * (i + 1));
+        }
+
+        List<Product> firstPage = bankA.getBankAccountsByBalance(1_000, 0, 3);
+        List<Product> secondPage = bankA.getBankAccountsByBalance(1_000, 3, 3);
+
+        Assert.assertThat(firstPage.size(), is(3));
+        Assert.assertThat(secondPage.size(), is(1));
+        Assert.assertThat(secondPage.get(0).getBalance(), is(5_000.0));
+        Assert.assertThat(bankA.streamBankAccountsByBalance(1_000).limit(2).count(), is(2L));
+    }
+
     @Test
     public void getBankAccountsByDateTest() throws NoSuchClientException, NoSuchAccountException {
         bankA.addNewClient(clientA);
@@ -582,8 +782,130 @@ public class BankTest {
         bankA.payment(account2Id, 6_000);
         bankA.addNewCredit(account1Id, 2_000, clientA.getId(), new InterestA());
         bankA.addNewDeposit(account2Id, 2_000, clientA.getId(), 2, new InterestA());
-        List<Product> products = bankA.getBankAccountsByDate(LocalDate.of(2020, 1, 1));
+        List<Product> products = bankA.getBankAccountsByDate(LocalDate.now().plusDays(1));
 
         Assert.assertThat(products.size(), is(6));
     }
+
+    @Test
+    public void accrueInterestsTest() throws NoSuchClientException, NoSuchAccountException {
+        bankA.addNewClient(clientA);
+        bankA.addNewNormalAccount(clientA.getId());
+        bankA.addNewNormalAccount(clientA.getId());
+        int account1Id = bankA.getBankAccounts().get(0).getId();
+        bankA.payment(account1Id, 2_000);
+        bankA.changeAccountPercentage(account1Id, new InterestA());
+        int historySize = bankA.getBankHistory().size();
+
+        AccrualResult result = bankA.accrueInterests();
+
+        Assert.assertThat(result.getProcessedProducts(), is(2L));
+        Assert.assertThat(result.getAccruedProducts(), is(1L));
+        Assert.assertThat(bankA.getProductById(account1Id).getBalance(), is(2_060.0));
+        Assert.assertThat(bankA.getBankHistory().size(), is(historySize + 1));
+    }
+
+    @Test
+    public void settleMaturedDepositsTest() throws NoSuchClientException, NoSuchAccountException {
+        bankA.addNewClient(clientA);
+        bankA.addNewNormalAccount(clientA.getId());
+        int accountId = bankA.getBankAccounts().get(0).getId();
+        bankA.payment(accountId, 10_000);
+        bankA.addNewDeposit(accountId, 2_000, clientA.getId(), 1, new InterestA());
+        bankA.addNewDeposit(accountId, 2_000, clientA.getId(), 6, new InterestA());
+        LocalDate today = LocalDate.now();
+
+        Assert.assertThat(bankA.settleMaturedDeposits(today), is(0));
+        Assert.assertThat(bankA.settleMaturedDeposits(today.plusMonths(1).plusDays(1)), is(1));
+        Assert.assertThat(bankA.getProductById(accountId).getBalance(), is(8_060.0));
+        Assert.assertThat(bankA.getDeposits().get(0).getBalance(), is(0.0));
+        Assert.assertThat(bankA.settleMaturedDeposits(today.plusMonths(1).plusDays(1)), is(0));
+    }
+
+    @Test
+    public void transferToAnotherBankBatchedTest() throws NoSuchClientException, NoSuchAccountException {
+        bankA.addNewClient(clientA);
+        bankB.addNewClient(clientB);
+        bankA.addNewNormalAccount(clientA.getId());
+        bankB.addNewNormalAccount(clientB.getId());
+        int accountId1 = bankA.getBankAccounts().get(0).getId();
+        int accountId2 = bankB.getBankAccounts().get(0).getId();
+        bankA.payment(accountId1, 10_000);
+        bankB.payment(accountId2, 10_000);
+        bankA.setPackageBatching(3, 0);
+
+        bankA.transferToAnotherBank(accountId1, bankB.getBankId(), accountId2, 1_000);
+        bankA.transferToAnotherBank(accountId1, bankB.getBankId(), accountId2, 2_000);
+        Assert.assertEquals(10_000, bankB.getProductById(accountId2).getBalance(), 0.1);
+        Assert.assertThat(bankA.flushPackages(), is(2));
+        Assert.assertThat(bankA.flushPackages(), is(0));
+        bankB.transferToAnotherBank(accountId2, bankA.getBankId(), accountId1, 500);
+
+        Assert.assertEquals(7_500, bankA.getProductById(accountId1).getBalance(), 0.1);
+        Assert.assertEquals(12_500, bankB.getProductById(accountId2).getBalance(), 0.1);
+    }
+
+    @Test
+    public void transferToAnotherBankExpiredBatchTest() throws Exception {
+        bankA.addNewClient(clientA);
+        bankB.addNewClient(clientB);
+        bankA.addNewNormalAccount(clientA.getId());
+        bankB.addNewNormalAccount(clientB.getId());
+        int accountId1 = bankA.getBankAccounts().get(0).getId();
+        int accountId2 = bankB.getBankAccounts().get(0).getId();
+        bankA.payment(accountId1, 10_000);
+        bankA.setPackageBatching(100, 20);
+        ScheduledExecutorService scheduler = Executors.newSingleThreadScheduledExecutor();
+        new PackageFlushJob(bankA).schedule(scheduler, 5);
+
+        bankA.transferToAnotherBank(accountId1, bankB.getBankId(), accountId2, 1_000);
+        long deadline = System.currentTimeMillis() + 5_000;
+        while (bankB.getProductById(accountId2).getBalance() == 0 && System.currentTimeMillis() < deadline) {
+            Thread.sleep(5);
+        }
+        scheduler.shutdown();
+
+        Assert.assertEquals(1_000, bankB.getProductById(accountId2).getBalance(), 0.1);
+        Assert.assertThat(bankA.flushPackages(), is(0));
+    }
+
+    @Test
+    public void transferToAnotherBankAsyncTest() throws NoSuchClientException, NoSuchAccountException {
+        bankA.addNewClient(clientA);
+        bankB.addNewClient(clientB);
+        bankA.addNewNormalAccount(clientA.getId());
+        bankB.addNewNormalAccount(clientB.getId());
+        int accountId1 = bankA.getBankAccounts().get(0).getId();
+        int accountId2 = bankB.getBankAccounts().get(0).getId();
+        bankA.payment(accountId1, 10_000);
+        bankA.startAsyncDelivery(16);
+        bankB.startAsyncDelivery(16);
+
+        bankA.transferToAnotherBank(accountId1, bankB.getBankId(), accountId2, 3_000);
+        bankA.transferToAnotherBank(accountId1, bankB.getBankId(), 99, 1_000);
+        InboundQueue inboundQueue = bankB.getInboundQueue();
+        bankB.stopAsyncDelivery();
+        bankA.stopAsyncDelivery();
+
+        Assert.assertThat(inboundQueue.getDeliveredPackages(), is(2L));
+        Assert.assertEquals(7_000, bankA.getProductById(accountId1).getBalance(), 0.1);
+        Assert.assertEquals(3_000, bankB.getProductById(accountId2).getBalance(), 0.1);
+    }
+
+    @Test
+    public void accrueInterestsDepositPaidOnceTest() throws NoSuchClientException, NoSuchAccountException {
+        bankA.addNewClient(clientA);
+        bankA.addNewNormalAccount(clientA.getId());
+        int accountId = bankA.getBankAccounts().get(0).getId();
+        bankA.payment(accountId, 10_000);
+        bankA.changeAccountPercentage(accountId, new InterestA());
+        bankA.addNewDeposit(accountId, 2_000, clientA.getId(), 1, new InterestA());
+
+        AccrualResult result = bankA.accrueInterests();
+        bankA.settleMaturedDeposits(LocalDate.now().plusMonths(1).plusDays(1));
+
+        Assert.assertThat(result.getProcessedProducts(), is(1L));
+        // 3% of 8 000 accrued on account, 3% of 2 000 paid by deposit once
+        Assert.assertThat(bankA.getProductById(accountId).getBalance(), is(10_300.0));
+    }
 }
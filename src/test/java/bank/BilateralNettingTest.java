@@ -0,0 +1,22 @@
+package bank;
+
+import org.junit.Assert;
+import org.junit.Test;
+
+import static org.hamcrest.core.Is.is;
+
+public class BilateralNettingTest {
+
+    @Test
+    public void opposingFlowsTest() {
+        BilateralNetting netting = new BilateralNetting();
+        netting.record(1, 2, 10_000);
+        netting.record(2, 1, 4_000);
+        netting.record(3, 1, 500);
+
+        Assert.assertThat(netting.getNetPosition(1, 2), is(6_000L));
+        Assert.assertThat(netting.getNetPosition(2, 1), is(-6_000L));
+        Assert.assertThat(netting.getNetPosition(1, 3), is(-500L));
+        Assert.assertThat(netting.size(), is(2));
+    }
+}
@@ -0,0 +1,50 @@
+package bank;
+
+import interests.InterestA;
+import org.junit.Assert;
+import org.junit.Test;
+import services.BankAccount;
+import services.Credit;
+import services.DebetAccountDecorator;
+import services.Deposit;
+
+import java.time.LocalDate;
+
+import static org.hamcrest.core.Is.is;
+
+public class CreationDateIndexTest {
+
+    @Test
+    public void connectedAccountsUseMainAccountDateTest()
+    {
+        CreationDateIndex creationDateIndex = new CreationDateIndex();
+        BankAccount bankAccount = new BankAccount(1_000, 0, new InterestA());
+        Credit credit = new Credit(bankAccount, -100, 0, new InterestA());
+        Deposit deposit = new Deposit(bankAccount, 100, 0, 2, new InterestA());
+        creationDateIndex.add(bankAccount);
+        creationDateIndex.add(credit);
+        creationDateIndex.add(deposit);
+
+        LocalDate today = LocalDate.now();
+        Assert.assertThat(creationDateIndex.createdBefore(today).size(), is(0));
+        Assert.assertThat(creationDateIndex.createdBefore(today.plusDays(1)).size(), is(3));
+        Assert.assertThat(creationDateIndex.createdBetween(today, today).size(), is(3));
+        Assert.assertThat(creationDateIndex.createdBetween(today.plusDays(1), today).size(), is(0));
+
+        creationDateIndex.remove(credit);
+        Assert.assertThat(creationDateIndex.createdBefore(today.plusDays(1)).size(), is(2));
+    }
+
+    @Test
+    public void replacedAccountTest()
+    {
+        CreationDateIndex creationDateIndex = new CreationDateIndex();
+        BankAccount bankAccount = new BankAccount(1_000, 0, new InterestA());
+        creationDateIndex.add(bankAccount);
+        DebetAccountDecorator debetAccount = new DebetAccountDecorator(100, 0, bankAccount);
+        creationDateIndex.add(debetAccount);
+
+        Assert.assertThat(creationDateIndex.createdBefore(LocalDate.now().plusDays(1)).size(), is(1));
+        Assert.assertThat(creationDateIndex.createdBefore(LocalDate.now().plusDays(1)).get(0) == debetAccount, is(true));
+    }
+}
@@ -0,0 +1,109 @@
+package bank;
+
+import exceptions.NoSuchAccountException;
+import messages.PackageToAnotherBank;
+import messages.TypeOfPackage;
+import org.junit.Assert;
+import org.junit.Test;
+
+import java.util.Collections;
+import java.util.List;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static org.hamcrest.core.Is.is;
+
+public class InboundQueueTest {
+
+    private static List<PackageToAnotherBank> newBatch() {
+        return Collections.singletonList(new PackageToAnotherBank(1, 1, 2, 2, 100, TypeOfPackage.NORMAL));
+    }
+
+    @Test
+    public void deliveryTest() {
+        AtomicInteger booked = new AtomicInteger();
+        InboundQueue queue = new InboundQueue("test-inbound", 4, packages -> booked.addAndGet(packages.size()));
+        for (int i = 0; i < 10; i++) {
+            Assert.assertTrue(queue.submit(newBatch()));
+        }
+        queue.stop();
+
+        Assert.assertThat(booked.get(), is(10));
+        Assert.assertThat(queue.getDeliveredPackages(), is(10L));
+        Assert.assertThat(queue.getDepth(), is(0));
+        Assert.assertFalse(queue.submit(newBatch()));
+    }
+
+    @Test
+    public void backpressureTest() throws InterruptedException {
+        CountDownLatch release = new CountDownLatch(1);
+        InboundQueue queue = new InboundQueue("test-inbound", 1, packages -> {
+            try {
+                release.await();
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+            }
+        });
+        // first batch is taken by consumer, second fills the queue
+        queue.submit(newBatch());
+        while (queue.getDepth() != 0) {
+            Thread.yield();
+        }
+        queue.submit(newBatch());
+        Thread sender = new Thread(() -> queue.submit(newBatch()));
+        sender.start();
+        sender.join(200);
+
+        Assert.assertTrue(sender.isAlive());
+        Assert.assertThat(queue.getBlockedSubmits(), is(1L));
+        release.countDown();
+        sender.join();
+        queue.stop();
+        Assert.assertThat(queue.getDeliveredBatches(), is(3L));
+    }
+
+    @Test
+    public void failedBookingTest() {
+        InboundQueue queue = new InboundQueue("test-inbound", 4, packages -> {
+            throw new IllegalStateException("booking failed");
+        });
+        queue.submit(newBatch());
+        queue.stop();
+
+        Assert.assertThat(queue.getFailedBatches(), is(1L));
+        Assert.assertThat(queue.getDeliveredBatches(), is(0L));
+        Assert.assertThat(queue.getLastFailure().getMessage(), is("booking failed"));
+    }
+
+    @Test
+    public void failedBookingCheckedExceptionTest() {
+        InboundQueue queue = new InboundQueue("test-inbound", 4, packages -> {
+            throw new NoSuchAccountException("account removed");
+        });
+        queue.submit(newBatch());
+        queue.stop();
+
+        Assert.assertThat(queue.getFailedBatches(), is(1L));
+        Assert.assertTrue(queue.getLastFailure() instanceof NoSuchAccountException);
+    }
+
+    @Test
+    public void submitDuringStopTest() throws Exception {
+        AtomicInteger booked = new AtomicInteger();
+        InboundQueue queue = new InboundQueue("test-inbound", 2, packages -> booked.addAndGet(packages.size()));
+        AtomicInteger refused = new AtomicInteger();
+        Thread sender = new Thread(() -> {
+            for (int i = 0; i < 10_000; i++) {
+                if (!queue.submit(newBatch())) {
+                    refused.incrementAndGet();
+                }
+            }
+        });
+        sender.start();
+        queue.stop();
+        sender.join();
+
+        // every batch is either booked by the queue or refused, so sender books it itself
+        Assert.assertThat(booked.get() + refused.get(), is(10_000));
+    }
+}
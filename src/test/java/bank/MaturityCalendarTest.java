@@ -0,0 +1,72 @@
+package bank;
+
+import interests.InterestA;
+import org.junit.Assert;
+import org.junit.Test;
+import services.BankAccount;
+import services.Deposit;
+
+import java.time.LocalDate;
+import java.util.List;
+
+import static org.hamcrest.core.Is.is;
+
+public class MaturityCalendarTest {
+
+    @Test
+    public void pollDueTest() {
+        MaturityCalendar calendar = new MaturityCalendar();
+        BankAccount bankAccount = new BankAccount(10_000, 1, new InterestA());
+        Deposit shortDeposit = new Deposit(bankAccount, 1_000, 1, 1, new InterestA());
+        Deposit longDeposit = new Deposit(bankAccount, 1_000, 1, 3, new InterestA());
+        calendar.add(shortDeposit);
+        calendar.add(longDeposit);
+        LocalDate today = LocalDate.now();
+
+        Assert.assertThat(calendar.pollDue(today.plusMonths(1)).size(), is(0));
+        List<Deposit> due = calendar.pollDue(today.plusMonths(2));
+        Assert.assertThat(due.size(), is(1));
+        Assert.assertThat(due.get(0).getId(), is(shortDeposit.getId()));
+        Assert.assertThat(calendar.pollDue(today.plusMonths(2)).size(), is(0));
+        Assert.assertThat(calendar.size(), is(1));
+    }
+
+    @Test
+    public void removeTest() {
+        MaturityCalendar calendar = new MaturityCalendar();
+        BankAccount bankAccount = new BankAccount(10_000, 1, new InterestA());
+        Deposit deposit = new Deposit(bankAccount, 1_000, 1, 1, new InterestA());
+        calendar.add(deposit);
+
+        Assert.assertTrue(calendar.remove(deposit));
+        Assert.assertFalse(calendar.remove(deposit));
+        Assert.assertThat(calendar.pollDue(LocalDate.now().plusYears(1)).size(), is(0));
+    }
+
+    @Test
+    public void removeAfterMaturityChangeTest() {
+        MaturityCalendar calendar = new MaturityCalendar();
+        BankAccount bankAccount = new BankAccount(10_000, 1, new InterestA());
+        Deposit deposit = new Deposit(bankAccount, 1_000, 1, 1, new InterestA());
+        calendar.add(deposit);
+        deposit.setDuration(6);
+
+        Assert.assertTrue(calendar.remove(deposit));
+        Assert.assertThat(calendar.size(), is(0));
+        Assert.assertThat(calendar.pollDue(LocalDate.now().plusYears(1)).size(), is(0));
+    }
+
+    @Test
+    public void addMovesChangedDepositTest() {
+        MaturityCalendar calendar = new MaturityCalendar();
+        BankAccount bankAccount = new BankAccount(10_000, 1, new InterestA());
+        Deposit deposit = new Deposit(bankAccount, 1_000, 1, 1, new InterestA());
+        calendar.add(deposit);
+        deposit.setDuration(6);
+        calendar.add(deposit);
+
+        Assert.assertThat(calendar.size(), is(1));
+        Assert.assertThat(calendar.pollDue(LocalDate.now().plusMonths(2)).size(), is(0));
+        Assert.assertThat(calendar.pollDue(LocalDate.now().plusMonths(7)).size(), is(1));
+    }
+}
@@ -0,0 +1,40 @@
+package bank;
+
+import messages.PackageToAnotherBank;
+import messages.TypeOfPackage;
+import org.junit.Assert;
+import org.junit.Test;
+
+import java.util.List;
+
+import static org.hamcrest.core.Is.is;
+
+public class PackageBatcherTest {
+
+    private static PackageToAnotherBank newPackage(double value) {
+        return new PackageToAnotherBank(1, 1, 2, 2, value, TypeOfPackage.NORMAL);
+    }
+
+    @Test
+    public void batchSizeTest() {
+        PackageBatcher batcher = new PackageBatcher(3, 0);
+
+        Assert.assertNull(batcher.add(newPackage(1)));
+        Assert.assertNull(batcher.add(newPackage(2)));
+        List<PackageToAnotherBank> batch = batcher.add(newPackage(3));
+
+        Assert.assertThat(batch.size(), is(3));
+        Assert.assertThat(batcher.size(), is(0));
+        Assert.assertThat(batcher.drain().size(), is(0));
+    }
+
+    @Test
+    public void timeWindowTest() throws InterruptedException {
+        PackageBatcher batcher = new PackageBatcher(100, 1);
+        batcher.add(newPackage(1));
+        Thread.sleep(5);
+
+        Assert.assertThat(batcher.drainExpired().size(), is(1));
+        Assert.assertThat(batcher.drainExpired().size(), is(0));
+    }
+}
@@ -5,6 +5,7 @@ import exceptions.NoSuchAccountException;
 import exceptions.NoSuchClientException;
 import messages.PackageToAnotherBank;
 import messages.TypeOfPackage;
+import messages.TypeOperation;
 import org.junit.Assert;
 import org.junit.Before;
 import org.junit.Test;
@@ -12,6 +13,9 @@ import services.BankAccount;
 
 import java.util.ArrayList;
 import java.util.List;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
 
 import static org.hamcrest.core.Is.is;
 
@@ -72,4 +76,69 @@ public class PaymentSystemInfrastructureTest {
         boolean ifSucceeded = paymentSystemInfrastructure.sendPackages(listOfPackages);
         Assert.assertFalse(ifSucceeded);
     }
+
+    @Test
+    public void separateNetworksTest() throws Exception {
+        PaymentSystemInfrastructure otherNetwork = new PaymentSystemInfrastructure();
+        BankImpl bank = paymentSystemInfrastructure.createNewBank();
+        BankImpl otherBank = otherNetwork.createNewBank();
+
+        Assert.assertThat(paymentSystemInfrastructure.getBankById(bank.getBankId()), is(bank));
+        Assert.assertNull(paymentSystemInfrastructure.getBankById(otherBank.getBankId()));
+        Assert.assertNull(otherNetwork.getBankById(bank.getBankId()));
+    }
+
+    @Test
+    public void createNewBankConcurrentlyTest() throws Exception {
+        ExecutorService executor = Executors.newFixedThreadPool(8);
+        List<Future<BankImpl>> futures = new ArrayList<>();
+        for (int i = 0; i < 1_000; i++) {
+            futures.add(executor.submit(paymentSystemInfrastructure::createNewBank));
+        }
+        for (Future<BankImpl> future : futures) {
+            BankImpl bank = future.get();
+            Assert.assertThat(paymentSystemInfrastructure.getBankById(bank.getBankId()), is(bank));
+        }
+        executor.shutdown();
+
+        Assert.assertThat(paymentSystemInfrastructure.getBanksNumber(), is(1_000));
+    }
+
+    @Test
+    public void sessionClearingTest() throws Exception {
+        BankImpl bankA = paymentSystemInfrastructure.createNewBank();
+        BankImpl bankB = paymentSystemInfrastructure.createNewBank();
+        BankImpl bankC = paymentSystemInfrastructure.createNewBank();
+        int[] accounts = new int[3];
+        BankImpl[] banks = {bankA, bankB, bankC};
+        for (int i = 0; i < banks.length; i++) {
+            Client client = new Client("Adam", "Nowak", "2555556443" + i);
+            banks[i].addNewClient(client);
+            banks[i].addNewNormalAccount(client.getId());
+            accounts[i] = banks[i].getBankAccounts().get(0).getId();
+            banks[i].payment(accounts[i], 1_000);
+        }
+        paymentSystemInfrastructure.startSessionClearing();
+
+        bankA.transferToAnotherBank(accounts[0], bankB.getBankId(), accounts[1], 100);
+        bankB.transferToAnotherBank(accounts[1], bankC.getBankId(), accounts[2], 50);
+        bankC.transferToAnotherBank(accounts[2], bankA.getBankId(), accounts[0], 30);
+        Assert.assertThat(bankB.getProductById(accounts[1]).getBalance(), is(950.0));
+        SettlementResult result = paymentSystemInfrastructure.settleSession();
+
+        Assert.assertThat(result.getSettledPackages(), is(3));
+        Assert.assertThat(result.getNetPosition(bankA.getBankId()), is(-7_000L));
+        Assert.assertThat(result.getNetPosition(bankB.getBankId()), is(5_000L));
+        Assert.assertThat(result.getNetPosition(bankC.getBankId()), is(2_000L));
+        Assert.assertThat(result.getNetPosition(bankA.getBankId(), bankB.getBankId()), is(10_000L));
+        Assert.assertThat(result.getNetPosition(bankC.getBankId(), bankB.getBankId()), is(-5_000L));
+        Assert.assertThat(result.getNetPosition(bankA.getBankId(), bankC.getBankId()), is(-3_000L));
+        Assert.assertThat(bankA.getProductById(accounts[0]).getBalance(), is(930.0));
+        Assert.assertThat(bankB.getProductById(accounts[1]).getBalance(), is(1_050.0));
+        Assert.assertThat(bankC.getProductById(accounts[2]).getBalance(), is(1_020.0));
+        Assert.assertThat(bankB.getBankHistory().stream().filter(ack -> ack.getTypeOperation() == TypeOperation.SETTLEMENT).count(), is(1L));
+        Assert.assertThat(paymentSystemInfrastructure.settleSession().getSettledPackages(), is(0));
+        Assert.assertNotNull(paymentSystemInfrastructure.stopSessionClearing());
+        Assert.assertNull(paymentSystemInfrastructure.settleSession());
+    }
 }
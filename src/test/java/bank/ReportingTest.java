@@ -95,4 +95,11 @@ public class ReportingTest {
 
         Assert.assertThat(number, is(3));
     }
-}
\ No newline at end of file
+
+    @Test
+    public void createBetweenDatesReportsTest() {
+        int number = reporting.createBetweenDatesReports(LocalDate.of(1999, 01, 01), LocalDate.of(2006, 12, 12)).size();
+
+        Assert.assertThat(number, is(4));
+    }
+}
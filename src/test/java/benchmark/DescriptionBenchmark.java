@@ -0,0 +1,61 @@
+package benchmark;
+
+import bank.BankImpl;
+import bank.PaymentSystemInfrastructure;
+import clients.Client;
+import exceptions.NoSuchAccountException;
+import exceptions.NoSuchClientException;
+import services.Product;
+
+import java.lang.management.ManagementFactory;
+
+/**
+ * Measuring memory allocated per transfer with lazy descriptions, compared with formatting description eagerly like
+ * before - the same fields, in the same transfer direction. It is not a unit test, run it with: java -cp target/classes:target/test-classes benchmark.DescriptionBenchmark
+ */
+public class DescriptionBenchmark {
+    private static final int TRANSFERS = 1_000_000;
+    private static final int ROUNDS = 5;
+    private static final double VALUE = 1;
+
+    private static long allocatedBytes() {
+        return ((com.sun.management.ThreadMXBean) ManagementFactory.getThreadMXBean())
+                .getThreadAllocatedBytes(Thread.currentThread().getId());
+    }
+
+    public static void main(String[] args) throws NoSuchClientException, NoSuchAccountException {
+        for (int round = 0; round < ROUNDS; round++) {
+            BankImpl bank = new PaymentSystemInfrastructure().createNewBank();
+            bank.addNewClient(new Client("Jan", "Kowalski", "90010112345"));
+            int clientId = bank.getClients().get(0).getId();
+            bank.addNewNormalAccount(clientId);
+            bank.addNewNormalAccount(clientId);
+            int from = bank.getBankAccounts().get(0).getId();
+            int to = bank.getBankAccounts().get(1).getId();
+            // both loops transfer in the same direction
+            bank.payment(from, 2 * TRANSFERS * VALUE);
+            Product fromAccount = bank.getProductById(from);
+            Product toAccount = bank.getProductById(to);
+
+            long start = allocatedBytes();
+            for (int i = 0; i < TRANSFERS; i++) {
+                bank.transfer(from, to, VALUE);
+            }
+            long lazy = allocatedBytes() - start;
+
+            start = allocatedBytes();
+            long length = 0;
+            for (int i = 0; i < TRANSFERS; i++) {
+                bank.transfer(from, to, VALUE);
+                // formatting the description is what every transfer did before - accounts it had already looked up
+                // and the amount
+                length += ("money successfully transferred from account: " + fromAccount + " to: " + toAccount
+                        + ", with amount of " + VALUE).length();
+            }
+            long eager = allocatedBytes() - start;
+
+            System.out.printf("round %d: lazy %.1f B/transfer, eager %.1f B/transfer (%d chars)%n",
+                    round, (double) lazy / TRANSFERS, (double) eager / TRANSFERS, length);
+        }
+    }
+}
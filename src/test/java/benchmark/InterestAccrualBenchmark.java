@@ -0,0 +1,36 @@
+package benchmark;
+
+import bank.AccrualResult;
+import bank.BankImpl;
+import bank.PaymentSystemInfrastructure;
+import clients.Client;
+import exceptions.NoSuchAccountException;
+import exceptions.NoSuchClientException;
+import interests.InterestA;
+
+/**
+ * Measuring throughput of month-end interest accrual over many accounts. It is not a unit test, run it with:
+ * java -cp target/classes:target/test-classes benchmark.InterestAccrualBenchmark
+ */
+public class InterestAccrualBenchmark {
+    private static final int ACCOUNTS = 1_000_000;
+    private static final int ROUNDS = 5;
+
+    public static void main(String[] args) throws NoSuchClientException, NoSuchAccountException {
+        BankImpl bank = new PaymentSystemInfrastructure().createNewBank();
+        bank.addNewClient(new Client("Jan", "Kowalski", "90010112345"));
+        int clientId = bank.getClients().get(0).getId();
+        for (int i = 0; i < ACCOUNTS; i++) {
+            bank.addNewNormalAccount(clientId);
+            int accountId = bank.getBankAccounts().get(i).getId();
+            bank.payment(accountId, 1_000);
+            bank.changeAccountPercentage(accountId, new InterestA());
+        }
+
+        for (int round = 0; round < ROUNDS; round++) {
+            AccrualResult result = bank.accrueInterests();
+            System.out.printf("round %d: %d products in %.1f ms, %.0f products/s%n", round,
+                    result.getProcessedProducts(), result.getDurationNanos() / 1e6, result.getThroughput());
+        }
+    }
+}
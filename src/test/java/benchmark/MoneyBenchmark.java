@@ -0,0 +1,73 @@
+package benchmark;
+
+import interests.InterestA;
+import services.BankAccount;
+import services.Money;
+
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * Comparing balance updates on long grosze with previous double balance kept in atomic long bits.
+ * It is not a unit test, run it with: java -cp target/classes:target/test-classes benchmark.MoneyBenchmark
+ */
+public class MoneyBenchmark {
+    private static final int OPERATIONS = 20_000_000;
+    private static final int ROUNDS = 5;
+
+    /**
+     * Previous representation of balance - double stored as bits of atomic long
+     */
+    private static class DoubleBalance {
+        private final AtomicLong bits = new AtomicLong(Double.doubleToRawLongBits(0));
+
+        void add(double value) {
+            long current;
+            do {
+                current = bits.get();
+            } while (!bits.compareAndSet(current, Double.doubleToRawLongBits(Double.longBitsToDouble(current) + value)));
+        }
+
+        boolean decrease(double value) {
+            long current;
+            double updated;
+            do {
+                current = bits.get();
+                updated = Double.longBitsToDouble(current) - value;
+                if (updated < 0) {
+                    return false;
+                }
+            } while (!bits.compareAndSet(current, Double.doubleToRawLongBits(updated)));
+            return true;
+        }
+
+        double get() {
+            return Double.longBitsToDouble(bits.get());
+        }
+    }
+
+    public static void main(String[] args) {
+        for (int round = 0; round < ROUNDS; round++) {
+            DoubleBalance doubleBalance = new DoubleBalance();
+            long start = System.nanoTime();
+            for (int i = 0; i < OPERATIONS; i++) {
+                doubleBalance.add(0.13);
+                doubleBalance.decrease(0.11);
+            }
+            long doubleTime = System.nanoTime() - start;
+
+            BankAccount bankAccount = new BankAccount(0, 1, new InterestA());
+            long value = Money.fromZloty(0.13);
+            long decrease = Money.fromZloty(0.11);
+            start = System.nanoTime();
+            for (int i = 0; i < OPERATIONS; i++) {
+                bankAccount.increaseBalanceGrosze(value);
+                bankAccount.decreaseBalanceGrosze(decrease);
+            }
+            long longTime = System.nanoTime() - start;
+
+            System.out.printf("round %d: double %.2f ns/op (balance %.10f), long grosze %.2f ns/op (balance %.2f)%n",
+                    round, (double) doubleTime / (2L * OPERATIONS), doubleBalance.get(),
+                    (double) longTime / (2L * OPERATIONS), bankAccount.getBalance());
+        }
+    }
+}
@@ -0,0 +1,46 @@
+package benchmark;
+
+import messages.PackageCodec;
+import messages.PackageToAnotherBank;
+import messages.TypeOfPackage;
+
+import java.nio.ByteBuffer;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Random;
+
+/**
+ * Measuring throughput and size of encoded batches of packages in both formats. It is not a unit test, run it with:
+ * java -cp target/classes:target/test-classes benchmark.PackageCodecBenchmark
+ */
+public class PackageCodecBenchmark {
+    private static final int PACKAGES = 1_000_000;
+    private static final int ROUNDS = 10;
+
+    public static void main(String[] args) {
+        Random random = new Random(1);
+        List<PackageToAnotherBank> packages = new ArrayList<>(PACKAGES);
+        for (int i = 0; i < PACKAGES; i++) {
+            packages.add(PackageToAnotherBank.ofGrosze(1, 1_000_000 + random.nextInt(10_000), 2 + random.nextInt(4),
+                    5_000_000 + random.nextInt(100_000), random.nextInt(1_000_000), TypeOfPackage.NORMAL));
+        }
+        for (byte format : new byte[]{PackageCodec.FIXED, PackageCodec.COMPACT}) {
+            ByteBuffer buffer = ByteBuffer.allocateDirect(PackageCodec.encodedSize(packages, format));
+            long checksum = 0;
+            for (int round = 0; round < ROUNDS; round++) {
+                buffer.clear();
+                long start = System.nanoTime();
+                PackageCodec.encode(packages, format, buffer);
+                long encoded = System.nanoTime();
+                buffer.flip();
+                List<PackageToAnotherBank> decoded = PackageCodec.decode(buffer);
+                long end = System.nanoTime();
+                checksum += decoded.get(decoded.size() - 1).getValueGrosze();
+                System.out.printf("%s round %d: %.1f B/package, encode %.1f M packages/s, decode %.1f M packages/s%n",
+                        format == PackageCodec.FIXED ? "fixed" : "compact", round, (double) buffer.limit() / PACKAGES,
+                        PACKAGES * 1e3 / (encoded - start), PACKAGES * 1e3 / (end - encoded));
+            }
+            System.out.println("checksum " + checksum);
+        }
+    }
+}
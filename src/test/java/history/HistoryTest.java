@@ -0,0 +1,256 @@
+package history;
+
+import clients.Client;
+import interests.InterestA;
+import messages.Ack;
+import messages.AckTemplate;
+import messages.BankAck;
+import messages.Description;
+import messages.TypeOperation;
+import org.junit.Assert;
+import org.junit.Test;
+import services.BankAccount;
+
+import java.time.LocalDate;
+import java.util.EnumSet;
+import java.util.List;
+
+import static org.hamcrest.core.Is.is;
+
+public class HistoryTest {
+
+    private static Ack ack(int product) {
+        return new Ack(product, null, TypeOperation.PAYMENT, LocalDate.now(), "Payment " + product);
+    }
+
+    @Test
+    public void unboundedHistoryKeepsAllAcksTest()
+    {
+        History history = new History();
+        int acksNumber = SegmentedHistoryStore.SEGMENT_SIZE * 5 + 3;
+        for (int i = 0; i < acksNumber; i++) {
+            history.add(ack(i));
+        }
+        List<Ack> list = history.returnList();
+        Assert.assertThat(list.size(), is(acksNumber));
+        for (int i = 0; i < acksNumber; i++) {
+            Assert.assertThat(list.get(i).getProduct1(), is(i));
+        }
+    }
+
+    @Test
+    public void viewIsSnapshotTest()
+    {
+        History history = new History();
+        history.add(ack(0));
+        List<Ack> list = history.returnList();
+        history.add(ack(1));
+        Assert.assertThat(list.size(), is(1));
+        Assert.assertThat(history.returnList().size(), is(2));
+    }
+
+    @Test(expected = UnsupportedOperationException.class)
+    public void viewIsReadOnlyTest()
+    {
+        History history = new History();
+        history.returnList().add(ack(0));
+    }
+
+    @Test(expected = UnsupportedOperationException.class)
+    public void boundedViewIsReadOnlyTest()
+    {
+        History history = new History(4);
+        history.add(ack(0));
+        history.returnList().set(0, ack(1));
+    }
+
+    @Test
+    public void boundedHistoryKeepsNewestAcksTest()
+    {
+        History history = new History(3);
+        for (int i = 0; i < 10; i++) {
+            history.add(ack(i));
+        }
+        List<Ack> list = history.returnList();
+        Assert.assertThat(list.size(), is(3));
+        Assert.assertThat(list.get(0).getProduct1(), is(7));
+        Assert.assertThat(list.get(1).getProduct1(), is(8));
+        Assert.assertThat(list.get(2).getProduct1(), is(9));
+    }
+
+    @Test
+    public void boundedHistoryBelowWindowTest()
+    {
+        History history = new History(100);
+        for (int i = 0; i < 20; i++) {
+            history.add(ack(i));
+        }
+        List<Ack> list = history.returnList();
+        Assert.assertThat(list.size(), is(20));
+        Assert.assertThat(list.get(19).getProduct1(), is(19));
+    }
+
+    @Test
+    public void accountWindowTest()
+    {
+        int previousWindow = History.getAccountWindow();
+        try {
+            History.setAccountWindow(2);
+            History history = History.forAccount();
+            history.add(ack(0));
+            history.add(ack(1));
+            history.add(ack(2));
+            Assert.assertThat(history.size(), is(2));
+        } finally {
+            History.setAccountWindow(previousWindow);
+        }
+    }
+
+    @Test
+    public void compactSegmentKeepsAckValuesTest()
+    {
+        History history = new History();
+        LocalDate date = LocalDate.of(2018, 1, 2);
+        for (int i = 0; i < SegmentedHistoryStore.SEGMENT_SIZE + 1; i++) {
+            if (i % 2 == 0) {
+                history.add(new BankAck(i, null, 7, TypeOperation.TRANSFER, date, "Transfer " + i));
+            } else {
+                history.add(new Ack(null, i, null, null, null));
+            }
+        }
+        List<Ack> list = history.returnList();
+        BankAck bankAck = (BankAck) list.get(10);
+        Assert.assertThat(bankAck.getProduct1(), is(10));
+        Assert.assertNull(bankAck.getProduct2());
+        Assert.assertThat(bankAck.getClientId(), is(7));
+        Assert.assertThat(bankAck.getTypeOperation(), is(TypeOperation.TRANSFER));
+        Assert.assertThat(bankAck.getLocalDate(), is(date));
+        Assert.assertThat(bankAck.getDescription(), is("Transfer 10"));
+        Ack ack = list.get(11);
+        Assert.assertThat(ack.getClass() == Ack.class, is(true));
+        Assert.assertNull(ack.getProduct1());
+        Assert.assertThat(ack.getProduct2(), is(11));
+        Assert.assertNull(ack.getTypeOperation());
+        Assert.assertNull(ack.getLocalDate());
+    }
+
+    @Test
+    public void compactSegmentKeepsDescriptionTest()
+    {
+        History history = new History();
+        BankAccount from = new BankAccount(100, 1, new InterestA());
+        BankAccount to = new BankAccount(100, 1, new InterestA());
+        Client client = new Client("Jan", "Kowalski", "12345678912");
+        LocalDate date = LocalDate.of(2018, 1, 2);
+        Description transfer = Description.of(AckTemplate.TRANSFER, from, to, 12.5);
+        Description deposit = Description.of(AckTemplate.DEPOSIT_SOLVED, 5L, client);
+        Description accrued = Description.of(AckTemplate.INTERESTS_ACCRUED, date);
+        for (int i = 0; i < SegmentedHistoryStore.SEGMENT_SIZE; i++) {
+            CharSequence description = i % 3 == 0 ? transfer : i % 3 == 1 ? deposit : accrued;
+            history.add(new Ack(i, null, TypeOperation.TRANSFER, date, description));
+        }
+        history.add(new Ack(0, null, TypeOperation.TRANSFER, date, "Transfer 0"));
+        List<Ack> list = history.returnList();
+
+        Assert.assertThat(list.get(0).getDescription(), is(transfer.toString()));
+        Assert.assertThat(list.get(1).getDescription(), is(deposit.toString()));
+        Assert.assertThat(list.get(2).getDescription(), is(accrued.toString()));
+        // segment keeps neither products nor clients
+        Description decoded = (Description) list.get(0).getDescriptionSequence();
+        Assert.assertThat(decoded.getTemplate(), is(AckTemplate.TRANSFER));
+        Assert.assertThat(decoded.getArgument(0) instanceof BankAccount, is(false));
+        Assert.assertThat(((Description) list.get(1).getDescriptionSequence()).getArgument(1) instanceof Client, is(false));
+    }
+
+    @Test
+    public void unknownAckSubclassIsNotCompactedTest()
+    {
+        History history = new History();
+        Ack custom = new Ack(0, null, TypeOperation.PAYMENT, LocalDate.now(), "Custom") {
+        };
+        history.add(custom);
+        for (int i = 1; i < SegmentedHistoryStore.SEGMENT_SIZE; i++) {
+            history.add(ack(i));
+        }
+        Assert.assertThat(history.returnList().get(0) == custom, is(true));
+    }
+
+    @Test
+    public void typeIndexKeepsOrderTest()
+    {
+        History history = new History();
+        TypeOperation[] types = {TypeOperation.PAYMENT, TypeOperation.TRANSFER, TypeOperation.WITHDRAWN};
+        int acksNumber = SegmentedHistoryStore.SEGMENT_SIZE * 3;
+        for (int i = 0; i < acksNumber; i++) {
+            history.add(new Ack(i, null, types[i % 3], LocalDate.now(), "Operation " + i));
+        }
+        List<Ack> list = history.returnList(EnumSet.of(TypeOperation.PAYMENT, TypeOperation.WITHDRAWN));
+        Assert.assertThat(list.size(), is(acksNumber / 3 * 2));
+        int previous = -1;
+        for (Ack ack : list) {
+            Assert.assertTrue(ack.getProduct1() > previous);
+            Assert.assertTrue(ack.getTypeOperation() != TypeOperation.TRANSFER);
+            previous = ack.getProduct1();
+        }
+        Assert.assertThat(history.returnList(EnumSet.of(TypeOperation.DELETE_CLIENT)).size(), is(0));
+    }
+
+    @Test
+    public void boundedHistoryTypesTest()
+    {
+        History history = new History(2);
+        history.add(new Ack(0, null, TypeOperation.PAYMENT, LocalDate.now(), "Payment"));
+        history.add(new Ack(1, null, TypeOperation.PAYMENT, LocalDate.now(), "Payment"));
+        history.add(new Ack(2, null, TypeOperation.TRANSFER, LocalDate.now(), "Transfer"));
+        List<Ack> list = history.returnList(EnumSet.of(TypeOperation.PAYMENT));
+        Assert.assertThat(list.size(), is(1));
+        Assert.assertThat(list.get(0).getProduct1(), is(1));
+    }
+
+    @Test
+    public void dateRangeTest()
+    {
+        History history = new History();
+        LocalDate first = LocalDate.of(2018, 1, 1);
+        int days = 100;
+        int acksPerDay = 30;
+        for (int day = 0; day < days; day++) {
+            for (int i = 0; i < acksPerDay; i++) {
+                history.add(new Ack(day, i, TypeOperation.PAYMENT, first.plusDays(day), "Payment"));
+            }
+        }
+        // late ACK with older date
+        history.add(new Ack(-1, null, TypeOperation.PAYMENT, first.plusDays(10), "Late payment"));
+
+        List<Ack> list = history.returnListBetween(first.plusDays(10), first.plusDays(12));
+        Assert.assertThat(list.size(), is(3 * acksPerDay + 1));
+        Assert.assertThat(list.get(0).getProduct1(), is(10));
+        Assert.assertThat(list.get(list.size() - 1).getProduct1(), is(-1));
+
+        Assert.assertThat(history.returnListBetween(first.plusDays(days - 1), null).size(), is(acksPerDay));
+        Assert.assertThat(history.returnListBetween(null, first.minusDays(1)).size(), is(0));
+        Assert.assertThat(history.returnListBetween(null, null).size(), is(days * acksPerDay + 1));
+        Assert.assertThat(history.returnListBetween(first.plusDays(5), first.plusDays(4)).size(), is(0));
+    }
+
+    @Test
+    public void dateRangeMatchesFilteringTest()
+    {
+        History history = new History();
+        History bounded = new History(Integer.MAX_VALUE);
+        int[] offsets = {5, 5, 3, 7, 7, 1, 9, 8, 9, 9, 2, 10};
+        LocalDate first = LocalDate.of(2018, 1, 1);
+        for (int i = 0; i < offsets.length; i++) {
+            Ack ack = new Ack(i, null, TypeOperation.PAYMENT, first.plusDays(offsets[i]), "Payment");
+            history.add(ack);
+            bounded.add(ack);
+        }
+        history.add(new Ack(99, null, TypeOperation.PAYMENT, null, "No date"));
+        for (int from = 0; from <= 11; from++) {
+            for (int to = from; to <= 11; to++) {
+                Assert.assertThat(history.returnListBetween(first.plusDays(from), first.plusDays(to)),
+                        is(bounded.returnListBetween(first.plusDays(from), first.plusDays(to))));
+            }
+        }
+    }
+}
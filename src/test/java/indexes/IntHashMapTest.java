@@ -0,0 +1,69 @@
+package indexes;
+
+import org.junit.Assert;
+import org.junit.Before;
+import org.junit.Test;
+
+import static org.hamcrest.core.Is.is;
+
+public class IntHashMapTest {
+    private IntHashMap<String> map;
+
+    @Before
+    public void init() {
+        map = new IntHashMap<>();
+    }
+
+    @Test
+    public void putAndGetTest() {
+        map.put(1, "a");
+        map.put(-7, "b");
+
+        Assert.assertThat(map.get(1), is("a"));
+        Assert.assertThat(map.get(-7), is("b"));
+        Assert.assertNull(map.get(2));
+        Assert.assertThat(map.size(), is(2));
+    }
+
+    @Test
+    public void putReplacesTest() {
+        map.put(5, "a");
+        String previous = map.put(5, "b");
+
+        Assert.assertThat(previous, is("a"));
+        Assert.assertThat(map.get(5), is("b"));
+        Assert.assertThat(map.size(), is(1));
+    }
+
+    @Test
+    public void removeKeepsOtherKeysReachableTest() {
+        for (int i = 0; i < 10_000; i++) {
+            map.put(i, "v" + i);
+        }
+        for (int i = 0; i < 10_000; i += 2) {
+            Assert.assertThat(map.remove(i), is("v" + i));
+        }
+
+        Assert.assertThat(map.size(), is(5_000));
+        for (int i = 0; i < 10_000; i++) {
+            if (i % 2 == 0) {
+                Assert.assertFalse(map.containsKey(i));
+            } else {
+                Assert.assertThat(map.get(i), is("v" + i));
+            }
+        }
+    }
+
+    @Test
+    public void removeNotExistingTest() {
+        map.put(1, "a");
+
+        Assert.assertNull(map.remove(2));
+        Assert.assertThat(map.size(), is(1));
+    }
+
+    @Test(expected = IllegalArgumentException.class)
+    public void putNullTest() {
+        map.put(1, null);
+    }
+}
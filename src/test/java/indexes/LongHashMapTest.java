@@ -0,0 +1,40 @@
+package indexes;
+
+import org.junit.Assert;
+import org.junit.Before;
+import org.junit.Test;
+
+import static org.hamcrest.core.Is.is;
+
+public class LongHashMapTest {
+    private LongHashMap<String> map;
+
+    @Before
+    public void init() {
+        map = new LongHashMap<>();
+    }
+
+    @Test
+    public void putAndGetWideKeysTest() {
+        map.put(99_123_456_789L, "a");
+        map.put(1_123_456_789L, "b");
+
+        Assert.assertThat(map.get(99_123_456_789L), is("a"));
+        Assert.assertThat(map.get(1_123_456_789L), is("b"));
+        Assert.assertNull(map.get(123_456_789L));
+    }
+
+    @Test
+    public void removeKeepsOtherKeysReachableTest() {
+        for (long i = 0; i < 10_000; i++) {
+            map.put(12_345_600_000L + i, "v" + i);
+        }
+        for (long i = 0; i < 10_000; i += 3) {
+            map.remove(12_345_600_000L + i);
+        }
+
+        for (long i = 0; i < 10_000; i++) {
+            Assert.assertThat(map.containsKey(12_345_600_000L + i), is(i % 3 != 0));
+        }
+    }
+}
@@ -0,0 +1,68 @@
+package interests;
+
+import org.junit.Assert;
+import org.junit.Test;
+import services.Money;
+
+import java.util.Random;
+
+import static org.hamcrest.core.Is.is;
+
+public class TieredInterestTest {
+
+    private static long referenceB(long balance) {
+        if (balance < 500_000) {
+            return Money.percentage(balance, 300);
+        } else if (balance < 5_000_000) {
+            return Money.percentage(balance, 500);
+        } else if (balance < 10_000_000) {
+            return Money.percentage(balance, 1000);
+        }
+        return Money.percentage(balance, 1200);
+    }
+
+    private static long referenceC(long balance) {
+        if (balance < 50_000_000) {
+            return Math.round((double) balance * balance * 1300 / (50_000_000.0 * Money.BASIS_POINTS));
+        }
+        return Money.percentage(balance, 1300);
+    }
+
+    @Test
+    public void sameAsChainedTiersTest() {
+        TieredInterest interestA = new InterestA();
+        TieredInterest interestB = new InterestB();
+        TieredInterest interestC = new InterestC();
+        Random random = new Random(7);
+        long[] edges = {-1, 0, 1, 499_999, 500_000, 4_999_999, 5_000_000, 9_999_999, 10_000_000, 49_999_999, 50_000_000};
+        for (long balance : edges) {
+            Assert.assertThat(interestB.interestsGrosze(balance), is(referenceB(balance)));
+            Assert.assertThat(interestC.interestsGrosze(balance), is(referenceC(balance)));
+        }
+        for (int i = 0; i < 100_000; i++) {
+            long balance = random.nextInt(200_000_000) - 50_000_000L;
+            Assert.assertThat(interestA.interestsGrosze(balance), is(Money.percentage(balance, 300)));
+            Assert.assertThat(interestB.interestsGrosze(balance), is(referenceB(balance)));
+            Assert.assertThat(interestC.interestsGrosze(balance), is(referenceC(balance)));
+        }
+    }
+
+    @Test
+    public void bulkInterestsTest() {
+        TieredInterest interestB = new InterestB();
+        double[] balances = {1_000, 10_000, 60_000, 200_000};
+        double[] out = new double[balances.length];
+
+        interestB.interests(balances, out);
+
+        Assert.assertThat(out[0], is(30.0));
+        Assert.assertThat(out[1], is(500.0));
+        Assert.assertThat(out[2], is(6_000.0));
+        Assert.assertThat(out[3], is(24_000.0));
+    }
+
+    @Test(expected = IllegalArgumentException.class)
+    public void notAscendingBoundsTest() {
+        new TieredInterest(new long[]{0, 100, 100}, new long[]{100, 200, 300});
+    }
+}
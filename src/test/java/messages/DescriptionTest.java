@@ -0,0 +1,52 @@
+package messages;
+
+import interests.InterestA;
+import org.junit.Assert;
+import org.junit.Test;
+import services.BankAccount;
+
+import java.time.LocalDate;
+
+import static org.hamcrest.core.Is.is;
+
+public class DescriptionTest {
+
+    @Test
+    public void descriptionFormatsLikeConcatenationTest()
+    {
+        BankAccount from = new BankAccount(1000, 0, new InterestA());
+        BankAccount to = new BankAccount(1000, 1, new InterestA());
+        double value = 2_000;
+        Description description = Description.of(AckTemplate.TRANSFER, from, to, value);
+        Assert.assertThat(description.toString(),
+                is("money successfully transferred from account: " + from + " to: " + to + ", with amount of " + value));
+    }
+
+    @Test
+    public void nestedDescriptionTest()
+    {
+        Description description = Description.of(AckTemplate.FAILED_DURING, Description.of(AckTemplate.PAYMENT, 5, 1.5));
+        Assert.assertThat(description.toString(), is("Failed during: money successfully transferred to account: 5, with amount of 1.5"));
+    }
+
+    @Test
+    public void ackFormatsDescriptionOnReadTest()
+    {
+        Ack ack = new Ack(1, null, TypeOperation.PAYMENT, LocalDate.now(), Description.of(AckTemplate.PAYMENT, 1, 100.0));
+        Assert.assertThat(ack.getDescription(), is("money successfully transferred to account: 1, with amount of 100.0"));
+        Assert.assertThat(ack.getDescriptionSequence() instanceof Description, is(true));
+    }
+
+    @Test
+    public void missingArgumentsTest()
+    {
+        Assert.assertThat(Description.of(AckTemplate.DEPOSIT_SOLVED, 3).toString(), is("deposit 3 of client {} is solved"));
+    }
+
+    @Test
+    public void argumentsNumberTest()
+    {
+        Assert.assertThat(AckTemplate.TRANSFER.getArgumentsNumber(), is(3));
+        Assert.assertThat(AckTemplate.NEW_CLIENT.getArgumentsNumber(), is(1));
+    }
+}
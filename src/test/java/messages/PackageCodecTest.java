@@ -0,0 +1,68 @@
+package messages;
+
+import org.junit.Assert;
+import org.junit.Test;
+
+import java.nio.ByteBuffer;
+import java.util.ArrayList;
+import java.util.List;
+
+import static org.hamcrest.core.Is.is;
+
+public class PackageCodecTest {
+
+    private static List<PackageToAnotherBank> newBatch() {
+        List<PackageToAnotherBank> packages = new ArrayList<>();
+        packages.add(new PackageToAnotherBank(3, 1_000_001, 7, 2_000_005, 120.55, TypeOfPackage.NORMAL));
+        packages.add(new PackageToAnotherBank(3, 1_000_002, 7, 2_000_001, 0.01, TypeOfPackage.NORMAL));
+        packages.add(new PackageToAnotherBank(7, 2_000_001, 3, 1_000_002, 0.01, TypeOfPackage.BOUNCED));
+        packages.add(PackageToAnotherBank.ofGrosze(Integer.MIN_VALUE, Integer.MAX_VALUE, 0, -1, Long.MAX_VALUE, TypeOfPackage.NORMAL));
+        return packages;
+    }
+
+    private static void assertSame(List<PackageToAnotherBank> expected, List<PackageToAnotherBank> actual) {
+        Assert.assertThat(actual.size(), is(expected.size()));
+        for (int i = 0; i < expected.size(); i++) {
+            Assert.assertThat(actual.get(i).getFromBank(), is(expected.get(i).getFromBank()));
+            Assert.assertThat(actual.get(i).getFromAccount(), is(expected.get(i).getFromAccount()));
+            Assert.assertThat(actual.get(i).getToBank(), is(expected.get(i).getToBank()));
+            Assert.assertThat(actual.get(i).getToAccount(), is(expected.get(i).getToAccount()));
+            Assert.assertThat(actual.get(i).getValueGrosze(), is(expected.get(i).getValueGrosze()));
+            Assert.assertThat(actual.get(i).getTypeOfPackage(), is(expected.get(i).getTypeOfPackage()));
+        }
+    }
+
+    @Test
+    public void fixedRoundTripTest() {
+        List<PackageToAnotherBank> packages = newBatch();
+        ByteBuffer buffer = ByteBuffer.allocate(PackageCodec.encodedSize(packages, PackageCodec.FIXED));
+
+        PackageCodec.encode(packages, PackageCodec.FIXED, buffer);
+        Assert.assertThat(buffer.remaining(), is(0));
+        buffer.flip();
+
+        assertSame(packages, PackageCodec.decode(buffer));
+        Assert.assertThat(buffer.remaining(), is(0));
+    }
+
+    @Test
+    public void compactRoundTripTest() {
+        List<PackageToAnotherBank> packages = newBatch();
+        int size = PackageCodec.encodedSize(packages, PackageCodec.COMPACT);
+        ByteBuffer buffer = ByteBuffer.allocateDirect(size);
+
+        PackageCodec.encode(packages, PackageCodec.COMPACT, buffer);
+        Assert.assertThat(buffer.remaining(), is(0));
+        buffer.flip();
+
+        assertSame(packages, PackageCodec.decode(buffer));
+        Assert.assertTrue(size < PackageCodec.encodedSize(packages, PackageCodec.FIXED));
+    }
+
+    @Test(expected = IllegalArgumentException.class)
+    public void unknownFormatTest() {
+        ByteBuffer buffer = ByteBuffer.allocate(PackageCodec.HEADER_SIZE);
+        buffer.put((byte) 9).putInt(0).flip();
+        PackageCodec.decode(buffer);
+    }
+}
@@ -0,0 +1,74 @@
+package reports;
+
+import interests.InterestA;
+import org.junit.Assert;
+import org.junit.Test;
+import services.BankAccount;
+import services.Deposit;
+import services.Product;
+
+import java.time.LocalDate;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.ForkJoinPool;
+
+import static org.hamcrest.core.Is.is;
+
+public class CompositeReportTest {
+
+    private static List<Product> products(int number) {
+        List<Product> products = new ArrayList<>();
+        for (int i = 0; i < number; i++) {
+            BankAccount bankAccount = new BankAccount(i % 100, 0, new InterestA());
+            products.add(bankAccount);
+            if (i % 10 == 0) {
+                products.add(new Deposit(bankAccount, i % 30, 0, 2, new InterestA()));
+            }
+        }
+        return products;
+    }
+
+    @Test
+    public void compositeMatchesSeparateReportsTest()
+    {
+        List<Product> products = products(1_000);
+        ReportBalance balance = new ReportBalance(90);
+        ReportBalance depositBalance = new ReportBalance(20);
+        ReportBalance expectedBalance = new ReportBalance(90);
+        ReportBalance expectedDepositBalance = new ReportBalance(20);
+        for (Product product : products) {
+            product.accept(expectedBalance);
+            product.accept(expectedDepositBalance);
+        }
+
+        CompositeReport compositeReport = new CompositeReport(balance, depositBalance);
+        for (Product product : products) {
+            product.accept(compositeReport);
+        }
+
+        Assert.assertThat(balance.getProductsWithCriteria(), is(expectedBalance.getProductsWithCriteria()));
+        Assert.assertThat(depositBalance.getProductsWithCriteria(), is(expectedDepositBalance.getProductsWithCriteria()));
+        Assert.assertThat(compositeReport.getProductsWithCriteria().isEmpty(), is(true));
+    }
+
+    @Test
+    public void parallelCompositeTest()
+    {
+        List<Product> products = products(20_000);
+        ReportBalance expectedBalance = new ReportBalance(50);
+        ReportCreateMainAccountDate expectedDate = new ReportCreateMainAccountDate(LocalDate.now().plusDays(1));
+        for (Product product : products) {
+            product.accept(expectedBalance);
+            product.accept(expectedDate);
+        }
+
+        ReportBalance balance = new ReportBalance(50);
+        ReportCreateMainAccountDate date = new ReportCreateMainAccountDate(LocalDate.now().plusDays(1));
+        CompositeReport compositeReport = new CompositeReport(balance, date);
+        Assert.assertThat(compositeReport.canCombine(), is(true));
+        new ParallelReportExecutor(new ForkJoinPool(4), 500).execute(compositeReport, products);
+
+        Assert.assertThat(balance.getProductsWithCriteria(), is(expectedBalance.getProductsWithCriteria()));
+        Assert.assertThat(date.getProductsWithCriteria(), is(expectedDate.getProductsWithCriteria()));
+    }
+}
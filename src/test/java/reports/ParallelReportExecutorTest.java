@@ -0,0 +1,109 @@
+package reports;
+
+import interests.InterestA;
+import org.junit.Assert;
+import org.junit.Test;
+import services.BankAccount;
+import services.Credit;
+import services.DebetAccountDecorator;
+import services.Deposit;
+import services.Product;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.ForkJoinPool;
+
+import static org.hamcrest.core.Is.is;
+
+public class ParallelReportExecutorTest {
+
+    private static List<Product> products(int number) {
+        List<Product> products = new ArrayList<>();
+        for (int i = 0; i < number; i++) {
+            BankAccount bankAccount = new BankAccount(i % 100, 0, new InterestA());
+            products.add(bankAccount);
+            if (i % 10 == 0) {
+                products.add(new Credit(bankAccount, -(i % 70), 0, new InterestA()));
+            }
+        }
+        return products;
+    }
+
+    @Test
+    public void parallelReportMatchesSequentialTest()
+    {
+        List<Product> products = products(50_000);
+        ReportBalance sequential = new ReportBalance(50);
+        for (Product product : products) {
+            product.accept(sequential);
+        }
+
+        ParallelReportExecutor executor = new ParallelReportExecutor(new ForkJoinPool(4), 1000);
+        Report parallel = executor.execute(new ReportBalance(50), products);
+
+        Assert.assertThat(parallel.getProductsWithCriteria(), is(sequential.getProductsWithCriteria()));
+    }
+
+    @Test
+    public void notCombinableReportIsRunSequentiallyTest()
+    {
+        List<Product> products = products(5_000);
+        List<Product> visited = new ArrayList<>();
+        Report report = new Report() {
+            @Override
+            public void visit(BankAccount bankAccount) {
+                visited.add(bankAccount);
+            }
+
+            @Override
+            public void visit(Credit credit) {
+                visited.add(credit);
+            }
+
+            @Override
+            public void visit(DebetAccountDecorator debetAccountDecorator) {
+                visited.add(debetAccountDecorator);
+            }
+
+            @Override
+            public void visit(Deposit deposit) {
+                visited.add(deposit);
+            }
+
+            @Override
+            public List<Product> getProductsWithCriteria() {
+                return visited;
+            }
+        };
+
+        ParallelReportExecutor executor = new ParallelReportExecutor(new ForkJoinPool(4), 100);
+        Assert.assertThat(executor.execute(report, products).getProductsWithCriteria(), is(products));
+    }
+
+    @Test
+    public void sinkStopsReportEarlyTest()
+    {
+        List<Product> products = products(50_000);
+        List<Product> received = new ArrayList<>();
+        ReportBalance report = new ReportBalance(50, product -> {
+            received.add(product);
+            return received.size() < 10;
+        });
+
+        new ParallelReportExecutor(new ForkJoinPool(4), 1000).execute(report, products);
+
+        ReportBalance expected = new ReportBalance(50);
+        for (Product product : products) {
+            product.accept(expected);
+        }
+        Assert.assertThat(report.isFinished(), is(true));
+        Assert.assertThat(report.getProductsWithCriteria().size(), is(0));
+        Assert.assertThat(received, is(expected.getProductsWithCriteria().subList(0, 10)));
+    }
+
+    @Test(expected = IllegalArgumentException.class)
+    public void notPositiveThresholdTest()
+    {
+        new ParallelReportExecutor(ForkJoinPool.commonPool(), 0);
+    }
+}
@@ -0,0 +1,82 @@
+package services;
+
+import interests.InterestA;
+import org.junit.After;
+import org.junit.Assert;
+import org.junit.Before;
+import org.junit.Test;
+
+import java.util.ArrayList;
+import java.util.List;
+
+public class DebetAccountDecoratorTest {
+
+    DebetAccountDecorator debetAccount = null;
+
+    @Before
+    public void init()
+    {
+        BankAccount bankAccount = new BankAccount(100.0, 1, new InterestA());
+        debetAccount = new DebetAccountDecorator(500.0, 0, bankAccount);
+    }
+
+    @Test
+    public void decreaseWithinLimitTest()
+    {
+        boolean result = debetAccount.decreaseBalance(400.0);
+        Assert.assertTrue(result);
+        Assert.assertEquals(-300.0, debetAccount.getBalance(), 0.01);
+        Assert.assertEquals(300.0, debetAccount.getDebet(), 0.01);
+    }
+
+    @Test
+    public void decreaseOverLimitTest()
+    {
+        boolean result = debetAccount.decreaseBalance(601.0);
+        Assert.assertFalse(result);
+        Assert.assertEquals(100.0, debetAccount.getBalance(), 0.01);
+    }
+
+    @Test
+    public void increaseCoversDebetTest()
+    {
+        debetAccount.decreaseBalance(400.0);
+        debetAccount.increaseBalance(350.0);
+        Assert.assertEquals(50.0, debetAccount.getBalance(), 0.01);
+        Assert.assertEquals(0.0, debetAccount.getDebet(), 0.01);
+    }
+
+    @Test
+    public void initialDebetTest()
+    {
+        DebetAccountDecorator account = new DebetAccountDecorator(500.0, 200.0, new BankAccount(1));
+        Assert.assertEquals(-200.0, account.getBalance(), 0.01);
+        Assert.assertTrue(account.decreaseBalance(300.0));
+        Assert.assertFalse(account.decreaseBalance(1.0));
+    }
+
+    @Test
+    public void concurrentDecreaseNeverExceedsLimitTest() throws InterruptedException
+    {
+        List<Thread> threads = new ArrayList<>();
+        for (int t = 0; t < 4; t++) {
+            Thread thread = new Thread(() -> {
+                for (int i = 0; i < 10_000; i++) {
+                    debetAccount.decreaseBalance(1.0);
+                }
+            });
+            threads.add(thread);
+            thread.start();
+        }
+        for (Thread thread : threads) {
+            thread.join();
+        }
+        Assert.assertEquals(-500.0, debetAccount.getBalance(), 0.01);
+    }
+
+    @After
+    public void finish()
+    {
+        debetAccount = null;
+    }
+}
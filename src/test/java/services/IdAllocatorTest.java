@@ -0,0 +1,78 @@
+package services;
+
+import org.junit.Assert;
+import org.junit.Test;
+
+import java.util.ArrayList;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+
+import static org.hamcrest.core.Is.is;
+
+public class IdAllocatorTest {
+
+    @Test
+    public void singleThreadIdsAreSequentialTest()
+    {
+        IdAllocator allocator = new IdAllocator(1, 16);
+        for (long i = 1; i <= 100; i++) {
+            Assert.assertThat(allocator.nextId(), is(i));
+        }
+    }
+
+    @Test
+    public void concurrentIdsAreUniqueTest() throws InterruptedException
+    {
+        IdAllocator allocator = new IdAllocator(1, 64);
+        Set<Long> ids = ConcurrentHashMap.newKeySet();
+        int threadsNumber = 8;
+        int idsPerThread = 10_000;
+        List<Thread> threads = new ArrayList<>();
+        for (int t = 0; t < threadsNumber; t++) {
+            threads.add(new Thread(() -> {
+                for (int i = 0; i < idsPerThread; i++) {
+                    ids.add(allocator.nextId());
+                }
+            }));
+        }
+        for (Thread thread : threads) {
+            thread.start();
+        }
+        for (Thread thread : threads) {
+            thread.join();
+        }
+        Assert.assertThat(ids.size(), is(threadsNumber * idsPerThread));
+    }
+
+    @Test
+    public void reseedTest()
+    {
+        IdAllocator allocator = new IdAllocator(1, 16);
+        allocator.nextId();
+        allocator.reseed(5_000_000_000L);
+        Assert.assertThat(allocator.nextId(), is(5_000_000_001L));
+        Assert.assertThat(allocator.getHighWaterMark(), is(5_000_000_001L + 16));
+    }
+
+    @Test
+    public void reseedBelowUsedIdsIsIgnoredTest()
+    {
+        IdAllocator allocator = new IdAllocator(1, 4);
+        Set<Long> ids = new HashSet<>();
+        for (int i = 0; i < 10; i++) {
+            ids.add(allocator.nextId());
+        }
+        allocator.reseed(3);
+        for (int i = 0; i < 10; i++) {
+            Assert.assertTrue(ids.add(allocator.nextId()));
+        }
+    }
+
+    @Test(expected = IllegalArgumentException.class)
+    public void notPositiveBlockSizeTest()
+    {
+        new IdAllocator(1, 0);
+    }
+}
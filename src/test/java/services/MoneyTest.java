@@ -0,0 +1,56 @@
+package services;
+
+import interests.InterestA;
+import org.junit.Assert;
+import org.junit.Test;
+
+import static org.hamcrest.core.Is.is;
+
+public class MoneyTest {
+
+    @Test
+    public void fromZlotyRoundsToGroszeTest()
+    {
+        Assert.assertThat(Money.fromZloty(10.005), is(1001L));
+        Assert.assertThat(Money.fromZloty(-0.015), is(-2L));
+        Assert.assertThat(Money.fromZloty(2_000), is(200_000L));
+    }
+
+    @Test
+    public void fromZlotyRoundsNegativeHalfAwayFromZeroTest()
+    {
+        Assert.assertThat(Money.fromZloty(-0.005), is(-1L));
+        Assert.assertThat(Money.fromZloty(0.005), is(1L));
+        Assert.assertThat(Money.fromZloty(-0.004), is(0L));
+    }
+
+    @Test
+    public void percentageRoundsHalfAwayFromZeroTest()
+    {
+        // 3% of 0.50 zloty is 1.5 grosza
+        Assert.assertThat(Money.percentage(50, 300), is(2L));
+        Assert.assertThat(Money.percentage(-50, 300), is(-2L));
+        Assert.assertThat(Money.percentage(100_000, 300), is(3_000L));
+    }
+
+    @Test(expected = ArithmeticException.class)
+    public void percentageOverflowTest()
+    {
+        Money.percentage(Long.MAX_VALUE / 100, 300);
+    }
+
+    @Test
+    public void noRoundingDriftTest()
+    {
+        BankAccount bankAccount = new BankAccount(0, 1, new InterestA());
+        for (int i = 0; i < 1_000; i++) {
+            bankAccount.increaseBalance(0.1);
+        }
+        for (int i = 0; i < 999; i++) {
+            bankAccount.decreaseBalance(0.1);
+        }
+
+        Assert.assertThat(bankAccount.getBalanceGrosze(), is(10L));
+        Assert.assertThat(bankAccount.getBalance(), is(0.1));
+    }
+}